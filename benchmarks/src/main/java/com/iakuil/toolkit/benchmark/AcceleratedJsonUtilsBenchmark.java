@@ -0,0 +1,13 @@
+package com.iakuil.toolkit.benchmark;
+
+import com.iakuil.toolkit.JsonUtils;
+import org.openjdk.jmh.annotations.Fork;
+
+/**
+ * 加速模式下的{@link JsonUtils}基准测试，与{@link JsonUtilsBenchmark}对比
+ *
+ * @author Kai
+ */
+@Fork(value = 1, jvmArgsAppend = "-Dez-toolkit.jackson.accelerated=true")
+public class AcceleratedJsonUtilsBenchmark extends JsonUtilsBenchmark {
+}
@@ -0,0 +1,13 @@
+package com.iakuil.toolkit.benchmark;
+
+import com.iakuil.toolkit.XmlUtils;
+import org.openjdk.jmh.annotations.Fork;
+
+/**
+ * 加速模式下的{@link XmlUtils}基准测试，与{@link XmlUtilsBenchmark}对比
+ *
+ * @author Kai
+ */
+@Fork(value = 1, jvmArgsAppend = "-Dez-toolkit.jackson.accelerated=true")
+public class AcceleratedXmlUtilsBenchmark extends XmlUtilsBenchmark {
+}
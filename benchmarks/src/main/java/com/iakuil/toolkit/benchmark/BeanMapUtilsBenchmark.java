@@ -0,0 +1,57 @@
+package com.iakuil.toolkit.benchmark;
+
+import com.iakuil.toolkit.BeanMapUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BeanMapUtils}基准测试，以手写Map转换为基线
+ *
+ * @author Kai
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeanMapUtilsBenchmark {
+    private Order order;
+    private Map<String, Object> map;
+
+    @Setup
+    public void setup() {
+        order = Payloads.order();
+        map = BeanMapUtils.beanToMap(order);
+    }
+
+    @Benchmark
+    public Map<String, Object> beanToMap() {
+        return BeanMapUtils.beanToMap(order);
+    }
+
+    @Benchmark
+    public Order mapToBean() {
+        return BeanMapUtils.mapToBean(map, Order.class);
+    }
+
+    @Benchmark
+    public Map<String, Object> baselineBeanToMap() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("id", order.getId());
+        result.put("orderNo", order.getOrderNo());
+        result.put("customer", order.getCustomer());
+        result.put("status", order.getStatus());
+        result.put("country", order.getCountry());
+        result.put("currency", order.getCurrency());
+        result.put("createdAt", order.getCreatedAt());
+        result.put("quantity", order.getQuantity());
+        result.put("amount", order.getAmount());
+        result.put("remark", order.getRemark());
+        result.put("lines", order.getLines());
+        return result;
+    }
+}
@@ -0,0 +1,74 @@
+package com.iakuil.toolkit.benchmark;
+
+import com.iakuil.toolkit.BeanMapUtils;
+import com.iakuil.toolkit.BeanUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BeanUtils}基准测试，以手写Getter/Setter为基线
+ *
+ * @author Kai
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeanUtilsBenchmark {
+    private Order order;
+    private Order changed;
+
+    @Setup
+    public void setup() {
+        order = Payloads.order();
+        changed = Payloads.order();
+        changed.setStatus("CLOSED");
+    }
+
+    @Benchmark
+    public OrderDto copy() {
+        return BeanUtils.copy(order, OrderDto.class);
+    }
+
+    @Benchmark
+    public OrderDto baseline() {
+        OrderDto dto = new OrderDto();
+        dto.setId(order.getId());
+        dto.setOrderNo(order.getOrderNo());
+        dto.setCustomer(order.getCustomer());
+        dto.setStatus(order.getStatus());
+        dto.setCountry(order.getCountry());
+        dto.setCurrency(order.getCurrency());
+        dto.setCreatedAt(order.getCreatedAt());
+        dto.setQuantity(order.getQuantity());
+        dto.setAmount(order.getAmount());
+        dto.setRemark(order.getRemark());
+        dto.setLines(order.getLines());
+        return dto;
+    }
+
+    @Benchmark
+    public List<String> diff() {
+        return BeanUtils.diff(order, changed);
+    }
+
+    @Benchmark
+    public List<String> baselineMapDiff() {
+        Map<String, Object> left = BeanMapUtils.beanToMap(order);
+        Map<String, Object> right = BeanMapUtils.beanToMap(changed);
+        List<String> result = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : left.entrySet()) {
+            if (!Objects.equals(entry.getValue(), right.get(entry.getKey()))) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+}
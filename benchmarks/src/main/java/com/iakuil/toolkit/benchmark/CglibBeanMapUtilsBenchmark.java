@@ -0,0 +1,13 @@
+package com.iakuil.toolkit.benchmark;
+
+import com.iakuil.toolkit.BeanMapUtils;
+import org.openjdk.jmh.annotations.Fork;
+
+/**
+ * cglib后端的{@link BeanMapUtils}基准测试，与{@link BeanMapUtilsBenchmark}对比
+ *
+ * @author Kai
+ */
+@Fork(value = 1, jvmArgsAppend = "-Dez-toolkit.accessor.backend=cglib")
+public class CglibBeanMapUtilsBenchmark extends BeanMapUtilsBenchmark {
+}
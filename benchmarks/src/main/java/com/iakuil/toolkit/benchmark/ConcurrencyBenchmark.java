@@ -0,0 +1,76 @@
+package com.iakuil.toolkit.benchmark;
+
+import com.iakuil.toolkit.BeanMapUtils;
+import com.iakuil.toolkit.BeanUtils;
+import com.iakuil.toolkit.HashIdUtils;
+import com.iakuil.toolkit.JsonPathUtils;
+import com.iakuil.toolkit.JsonUtils;
+import com.iakuil.toolkit.XmlUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 共享静态状态的多线程吞吐量基准测试
+ *
+ * <p>所有线程共用同一份输入，命中相同的缓存和Mapper，用于观察锁竞争和伪共享。
+ * 单独运行时使用{@code -t}指定线程数，{@link ScalabilityRunner}按1到N个线程依次运行并输出扩展曲线。
+ *
+ * @author Kai
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrencyBenchmark {
+    private Order order;
+    private String json;
+    private String xml;
+    private Map<String, Object> map;
+
+    @Setup
+    public void setup() {
+        order = Payloads.order();
+        json = Payloads.orderJson();
+        xml = Payloads.orderXml();
+        map = BeanMapUtils.beanToMap(order);
+    }
+
+    @Benchmark
+    public OrderDto copy() {
+        return BeanUtils.copy(order, OrderDto.class);
+    }
+
+    @Benchmark
+    public Order mapToBean() {
+        return BeanMapUtils.mapToBean(map, Order.class);
+    }
+
+    @Benchmark
+    public Order json2bean() {
+        return JsonUtils.json2bean(json, Order.class);
+    }
+
+    @Benchmark
+    public String bean2Json() {
+        return JsonUtils.bean2Json(order);
+    }
+
+    @Benchmark
+    public Order xml2bean() {
+        return XmlUtils.xml2bean(xml, Order.class);
+    }
+
+    @Benchmark
+    public String jsonPathRead() {
+        return JsonPathUtils.readStr(json, "$.customer");
+    }
+
+    @Benchmark
+    public Long hashIdRoundTrip() {
+        return HashIdUtils.deobfuscate(HashIdUtils.obfuscate(order.getId()));
+    }
+}
@@ -0,0 +1,78 @@
+package com.iakuil.toolkit.benchmark;
+
+import com.iakuil.toolkit.BeanMapUtils;
+import com.iakuil.toolkit.CsvUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CsvUtils}基准测试，以先转换为Map列表再逐行输出为基线
+ *
+ * @author Kai
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvUtilsBenchmark {
+    private static final String[] COLUMNS = {"name", "price", "quantity", "sku"};
+
+    private List<OrderLine> lines;
+    private byte[] csv;
+
+    @Setup
+    public void setup() {
+        lines = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            lines.addAll(Payloads.order().getLines());
+        }
+        csv = write();
+    }
+
+    @Benchmark
+    public byte[] write() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvUtils.writeRecords(out, lines, OrderLine.class, CsvUtils.COMMA);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public long read() {
+        return CsvUtils.readRecords(new ByteArrayInputStream(csv), OrderLine.class, CsvUtils.COMMA, line -> {
+        });
+    }
+
+    @Benchmark
+    public byte[] baselineMapsWrite() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\r\n");
+        for (Map<String, Object> map : BeanMapUtils.objectsToMaps(lines)) {
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = map.get(COLUMNS[i]);
+                if (value != null) {
+                    writer.write(value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+        writer.flush();
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,51 @@
+package com.iakuil.toolkit.benchmark;
+
+import com.iakuil.toolkit.HashIdUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HashIdUtils}基准测试
+ *
+ * @author Kai
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HashIdUtilsBenchmark {
+    @Param({"12", "1234567890"})
+    private long id;
+
+    private String hash;
+    private String obfuscated;
+
+    @Setup
+    public void setup() {
+        hash = HashIdUtils.encrypt(id);
+        obfuscated = HashIdUtils.obfuscate(id);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return HashIdUtils.encrypt(id);
+    }
+
+    @Benchmark
+    public Long decrypt() {
+        return HashIdUtils.decrypt(hash);
+    }
+
+    @Benchmark
+    public String obfuscate() {
+        return HashIdUtils.obfuscate(id);
+    }
+
+    @Benchmark
+    public Long deobfuscate() {
+        return HashIdUtils.deobfuscate(obfuscated);
+    }
+}
@@ -0,0 +1,46 @@
+package com.iakuil.toolkit.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iakuil.toolkit.JsonPathUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JsonPathUtils}基准测试，以Jackson树模型手写访问为基线
+ *
+ * @author Kai
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonPathUtilsBenchmark {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private String json;
+
+    @Setup
+    public void setup() {
+        json = Payloads.orderJson();
+    }
+
+    @Benchmark
+    public String readStr() {
+        return JsonPathUtils.readStr(json, "$.lines[10].sku");
+    }
+
+    @Benchmark
+    public Integer readInt() {
+        return JsonPathUtils.readInt(json, "$.quantity");
+    }
+
+    @Benchmark
+    public String baseline() throws IOException {
+        JsonNode root = mapper.readTree(json);
+        return root.path("lines").path(10).path("sku").asText();
+    }
+}
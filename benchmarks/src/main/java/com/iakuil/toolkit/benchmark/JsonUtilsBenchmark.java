@@ -0,0 +1,64 @@
+package com.iakuil.toolkit.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iakuil.toolkit.JsonUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JsonUtils}基准测试，以直接调用ObjectMapper为基线
+ *
+ * @author Kai
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonUtilsBenchmark {
+    private final ObjectMapper mapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private Order order;
+    private String json;
+    private final Order reused = new Order();
+
+    @Setup
+    public void setup() {
+        order = Payloads.order();
+        json = Payloads.orderJson();
+    }
+
+    @Benchmark
+    public String bean2Json() {
+        return JsonUtils.bean2Json(order);
+    }
+
+    @Benchmark
+    public Order json2bean() {
+        return JsonUtils.json2bean(json, Order.class);
+    }
+
+    @Benchmark
+    public Order readInto() {
+        return JsonUtils.readInto(json, reused);
+    }
+
+    @Benchmark
+    public Map<String, Object> json2Map() {
+        return JsonUtils.json2Map(json);
+    }
+
+    @Benchmark
+    public String baselineWrite() throws IOException {
+        return mapper.writeValueAsString(order);
+    }
+
+    @Benchmark
+    public Order baselineRead() throws IOException {
+        return mapper.readValue(json, Order.class);
+    }
+}
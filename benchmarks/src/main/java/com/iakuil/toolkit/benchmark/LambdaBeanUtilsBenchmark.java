@@ -0,0 +1,13 @@
+package com.iakuil.toolkit.benchmark;
+
+import com.iakuil.toolkit.BeanUtils;
+import org.openjdk.jmh.annotations.Fork;
+
+/**
+ * lambda后端的{@link BeanUtils}基准测试，与{@link BeanUtilsBenchmark}对比
+ *
+ * @author Kai
+ */
+@Fork(value = 1, jvmArgsAppend = "-Dez-toolkit.accessor.backend=lambda")
+public class LambdaBeanUtilsBenchmark extends BeanUtilsBenchmark {
+}
@@ -0,0 +1,73 @@
+package com.iakuil.toolkit.benchmark;
+
+import com.iakuil.toolkit.MapBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MapBuilder}基准测试，模拟DAO层查询参数的构建，以手写LinkedHashMap为基线
+ *
+ * @author Kai
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapBuilderBenchmark {
+    private Order order;
+
+    @Setup
+    public void setup() {
+        order = Payloads.order();
+    }
+
+    @Benchmark
+    public Map<String, Object> build() {
+        return params(MapBuilder.create()).build();
+    }
+
+    @Benchmark
+    public Map<String, Object> buildPresized() {
+        return params(MapBuilder.create(8)).build();
+    }
+
+    @Benchmark
+    public Map<String, Object> buildCompact() {
+        return params(MapBuilder.create()).buildCompact();
+    }
+
+    @Benchmark
+    public String toJson() {
+        return params(MapBuilder.create()).toJson();
+    }
+
+    @Benchmark
+    public Map<String, Object> baseline() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", order.getId());
+        map.put("status", order.getStatus());
+        map.put("country", order.getCountry());
+        map.put("currency", order.getCurrency());
+        map.put("customer", order.getCustomer());
+        map.put("quantity", order.getQuantity());
+        return map;
+    }
+
+    private MapBuilder params(MapBuilder builder) {
+        return builder
+            .put("id", order.getId())
+            .put("status", order.getStatus())
+            .put("country", order.getCountry())
+            .put("currency", order.getCurrency())
+            .put("customer", order.getCustomer())
+            .put("remark", "")
+            .put("tags", Collections.emptyList())
+            .put("quantity", order.getQuantity());
+    }
+}
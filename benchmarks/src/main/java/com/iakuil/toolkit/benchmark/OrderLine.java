@@ -0,0 +1,45 @@
+package com.iakuil.toolkit.benchmark;
+
+/**
+ * 基准测试使用的订单明细
+ *
+ * @author Kai
+ */
+public class OrderLine {
+    private String sku;
+    private String name;
+    private Integer quantity;
+    private Double price;
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+}
@@ -0,0 +1,55 @@
+package com.iakuil.toolkit.benchmark;
+
+import com.iakuil.toolkit.JsonUtils;
+import com.iakuil.toolkit.XmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试数据
+ *
+ * <p>订单包含10个标量属性及20条明细，序列化后约2KB，接近常见接口报文大小。
+ *
+ * @author Kai
+ */
+public final class Payloads {
+    public static final int LINE_COUNT = 20;
+
+    private Payloads() {
+    }
+
+    public static Order order() {
+        Order order = new Order();
+        order.setId(10086L);
+        order.setOrderNo("SO-20230401-0001");
+        order.setCustomer("Zhang San");
+        order.setStatus("PAID");
+        order.setCountry("CN");
+        order.setCurrency("CNY");
+        order.setCreatedAt(1680307200000L);
+        order.setQuantity(LINE_COUNT);
+        order.setAmount(1999.99);
+        order.setRemark("Please deliver before noon.");
+
+        List<OrderLine> lines = new ArrayList<>(LINE_COUNT);
+        for (int i = 0; i < LINE_COUNT; i++) {
+            OrderLine line = new OrderLine();
+            line.setSku("SKU-" + (1000 + i));
+            line.setName("Product " + i);
+            line.setQuantity(i % 3 + 1);
+            line.setPrice(9.9 * (i + 1));
+            lines.add(line);
+        }
+        order.setLines(lines);
+        return order;
+    }
+
+    public static String orderJson() {
+        return JsonUtils.bean2Json(order());
+    }
+
+    public static String orderXml() {
+        return XmlUtils.bean2Xml(order());
+    }
+}
@@ -0,0 +1,79 @@
+package com.iakuil.toolkit.benchmark;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 扩展性曲线
+ *
+ * <p>按1、2、4……直到可用核数的线程数依次运行{@link ConcurrencyBenchmark}，输出每个方法在各线程数下的吞吐量，
+ * 以及相对单线程的加速比。理想情况下加速比接近线程数，明显偏低说明共享状态上存在竞争。
+ * <pre>{@code
+ * java -cp target/benchmarks.jar com.iakuil.toolkit.benchmark.ScalabilityRunner [maxThreads] [includeRegex]
+ * }</pre>
+ *
+ * @author Kai
+ */
+public final class ScalabilityRunner {
+
+    private ScalabilityRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        String include = ConcurrencyBenchmark.class.getSimpleName() + (args.length > 1 ? "." + args[1] : "");
+
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(maxThreads);
+
+        // 方法 -> (线程数 -> ops/ms)
+        Map<String, Map<Integer, Double>> scores = new LinkedHashMap<>();
+        for (int threads : threadCounts) {
+            Options options = new OptionsBuilder()
+                .include(include)
+                .threads(threads)
+                .warmupIterations(2)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(1))
+                .forks(1)
+                .build();
+            Collection<RunResult> results = new Runner(options).run();
+            for (RunResult result : results) {
+                String label = result.getParams().getBenchmark();
+                label = label.substring(label.lastIndexOf('.') + 1);
+                scores.computeIfAbsent(label, k -> new LinkedHashMap<>())
+                    .put(threads, result.getPrimaryResult().getScore());
+            }
+        }
+
+        StringBuilder header = new StringBuilder(String.format("%-18s", "Benchmark"));
+        for (int threads : threadCounts) {
+            header.append(String.format("%16s", threads + "T ops/ms"));
+        }
+        System.out.println();
+        System.out.println(header.append(String.format("%12s", "speedup")));
+        for (Map.Entry<String, Map<Integer, Double>> entry : scores.entrySet()) {
+            StringBuilder line = new StringBuilder(String.format("%-18s", entry.getKey()));
+            for (int threads : threadCounts) {
+                line.append(String.format("%16.1f", entry.getValue().getOrDefault(threads, Double.NaN)));
+            }
+            double single = entry.getValue().getOrDefault(1, Double.NaN);
+            double widest = entry.getValue().getOrDefault(maxThreads, Double.NaN);
+            System.out.println(line.append(String.format("%11.2fx", widest / single)));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.iakuil.toolkit.benchmark;
+
+import com.iakuil.toolkit.XmlUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link XmlUtils}基准测试
+ *
+ * @author Kai
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XmlUtilsBenchmark {
+    private Order order;
+    private String xml;
+
+    @Setup
+    public void setup() {
+        order = Payloads.order();
+        xml = Payloads.orderXml();
+    }
+
+    @Benchmark
+    public String bean2Xml() {
+        return XmlUtils.bean2Xml(order);
+    }
+
+    @Benchmark
+    public Order xml2bean() {
+        return XmlUtils.xml2bean(xml, Order.class);
+    }
+}
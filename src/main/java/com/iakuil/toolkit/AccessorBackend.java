@@ -0,0 +1,43 @@
+package com.iakuil.toolkit;
+
+/**
+ * JavaBean属性访问的实现后端
+ *
+ * <p>{@link BeanUtils}和{@link BeanMapUtils}通过后端生成属性复制器和访问器，调用方负责缓存其结果。
+ * <p>内置两种实现：
+ * <ul>
+ *     <li>cglib：生成字节码，JDK 8上的默认实现；</li>
+ *     <li>lambda：基于{@link java.lang.invoke.LambdaMetafactory}，不依赖cglib，JDK 9及以上的默认实现，
+ *     JDK 15起生成的是隐藏类，JDK 17上无需{@code --add-opens}。</li>
+ * </ul>
+ * <p>可以通过系统属性{@code -Dez-toolkit.accessor.backend}指定{@code cglib}、{@code lambda}，
+ * 或者具有无参构造方法的自定义实现的全限定类名。
+ * <p>实现需要线程安全。
+ *
+ * @author Kai
+ */
+public interface AccessorBackend {
+    /**
+     * 后端名称
+     *
+     * @return 名称
+     */
+    String getName();
+
+    /**
+     * 创建属性访问器
+     *
+     * @param clazz JavaBean类型
+     * @return 属性访问器
+     */
+    BeanAccessor accessor(Class<?> clazz);
+
+    /**
+     * 创建属性复制器
+     *
+     * @param from 源类型
+     * @param to   目标类型
+     * @return 属性复制器
+     */
+    PropertyCopier copier(Class<?> from, Class<?> to);
+}
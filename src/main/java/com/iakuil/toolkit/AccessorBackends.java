@@ -0,0 +1,169 @@
+package com.iakuil.toolkit;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+
+/**
+ * 属性访问后端的选择，以及各后端共用的反射支持
+ *
+ * <p>默认按JDK版本选择：JDK 8使用cglib，JDK 9及以上使用lambda；
+ * 可以通过系统属性{@code -Dez-toolkit.accessor.backend}覆盖，见{@link AccessorBackend}。
+ *
+ * @author Kai
+ */
+final class AccessorBackends {
+    static final String BACKEND_PROPERTY = "ez-toolkit.accessor.backend";
+    static final String CGLIB = "cglib";
+    static final String LAMBDA = "lambda";
+
+    private static final Method PRIVATE_LOOKUP_IN = findMethod(MethodHandles.class, "privateLookupIn", Class.class, MethodHandles.Lookup.class);
+    private static final Method IS_RECORD = findMethod(Class.class, "isRecord");
+    private static final Method GET_RECORD_COMPONENTS = findMethod(Class.class, "getRecordComponents");
+    private static final AccessorBackend CURRENT = select(System.getProperty(BACKEND_PROPERTY));
+
+    private AccessorBackends() {
+    }
+
+    /**
+     * 当前使用的后端，启动时确定
+     *
+     * @return 后端
+     */
+    static AccessorBackend current() {
+        return CURRENT;
+    }
+
+    /**
+     * 按名称选择后端
+     *
+     * @param name 后端名称或自定义实现的全限定类名，为空时按JDK版本选择
+     * @return 后端
+     */
+    static AccessorBackend select(String name) {
+        if (name == null || name.isEmpty()) {
+            name = javaVersion() >= 9 ? LAMBDA : CGLIB;
+        }
+
+        switch (name) {
+            case CGLIB:
+                return new CglibAccessorBackend();
+            case LAMBDA:
+                return new LambdaAccessorBackend();
+            default:
+                try {
+                    return (AccessorBackend) Class.forName(name).getDeclaredConstructor().newInstance();
+                } catch (Exception e) {
+                    throw new IllegalStateException("Occurring an exception during accessor backend loading!", e);
+                }
+        }
+    }
+
+    /**
+     * 基本类型的零值
+     *
+     * @param type 类型
+     * @return 基本类型的零值，引用类型返回null
+     */
+    static Object zeroOf(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == float.class) {
+            return 0F;
+        }
+        return 0D;
+    }
+
+    /**
+     * 获取对指定类型有私有访问权限的Lookup
+     *
+     * <p>JDK 9及以上使用{@code MethodHandles.privateLookupIn}；JDK 8或所在模块未开放时只能访问public成员。
+     *
+     * @param clazz 类型
+     * @return Lookup
+     */
+    static MethodHandles.Lookup lookupFor(Class<?> clazz) {
+        if (PRIVATE_LOOKUP_IN != null) {
+            try {
+                return (MethodHandles.Lookup) PRIVATE_LOOKUP_IN.invoke(null, clazz, MethodHandles.lookup());
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // 所在模块未开放，只能访问public成员
+            }
+        }
+        return MethodHandles.lookup();
+    }
+
+    /**
+     * 是否为record类型，JDK 16以下总是返回false
+     *
+     * @param clazz 类型
+     * @return 是record时返回true
+     */
+    static boolean isRecord(Class<?> clazz) {
+        try {
+            return IS_RECORD != null && (Boolean) IS_RECORD.invoke(clazz);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * record各组件的访问方法，按声明顺序排列，方法名即组件名
+     *
+     * @param clazz record类型
+     * @return 组件访问方法
+     */
+    static Method[] recordAccessors(Class<?> clazz) {
+        try {
+            Object components = GET_RECORD_COMPONENTS.invoke(clazz);
+            Method[] accessors = new Method[Array.getLength(components)];
+            for (int i = 0; i < accessors.length; i++) {
+                Object component = Array.get(components, i);
+                accessors[i] = (Method) component.getClass().getMethod("getAccessor").invoke(component);
+            }
+            return accessors;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Occurring an exception during record reading!", e);
+        }
+    }
+
+    static int javaVersion() {
+        String version = System.getProperty("java.specification.version", "1.8");
+        if (version.startsWith("1.")) {
+            version = version.substring(2);
+        }
+        try {
+            return Integer.parseInt(version);
+        } catch (NumberFormatException e) {
+            return 8;
+        }
+    }
+
+    private static Method findMethod(Class<?> clazz, String name, Class<?>... parameterTypes) {
+        try {
+            return clazz.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            // 低版本JDK
+            return null;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.iakuil.toolkit;
+
+/**
+ * 按下标访问的JavaBean属性访问器
+ *
+ * <p>每个类型只创建一次，属性在创建时确定下标，热点路径上按下标读写，不再按名称查找。
+ * <p>实现需要线程安全。
+ *
+ * @author Kai
+ */
+public interface BeanAccessor {
+    /**
+     * 访问的JavaBean类型
+     *
+     * @return JavaBean类型
+     */
+    Class<?> getBeanClass();
+
+    /**
+     * 属性数量
+     *
+     * @return 属性数量
+     */
+    int size();
+
+    /**
+     * 属性名称
+     *
+     * @param index 属性下标
+     * @return 属性名称
+     */
+    String getName(int index);
+
+    /**
+     * 属性类型
+     *
+     * @param index 属性下标
+     * @return 属性类型
+     */
+    Class<?> getType(int index);
+
+    /**
+     * 属性下标
+     *
+     * @param name 属性名称
+     * @return 属性下标，不存在时返回-1
+     */
+    int indexOf(String name);
+
+    /**
+     * 属性是否可读
+     *
+     * @param index 属性下标
+     * @return 有Getter时返回true
+     */
+    boolean isReadable(int index);
+
+    /**
+     * 属性是否可写
+     *
+     * @param index 属性下标
+     * @return 有Setter时返回true
+     */
+    boolean isWritable(int index);
+
+    /**
+     * 读取属性
+     *
+     * @param bean  JavaBean对象
+     * @param index 属性下标
+     * @return 属性值，属性不可读时返回null
+     */
+    Object get(Object bean, int index);
+
+    /**
+     * 写入属性，基本类型的属性写入null时按零值处理
+     *
+     * @param bean  JavaBean对象
+     * @param index 属性下标
+     * @param value 属性值
+     */
+    void set(Object bean, int index, Object value);
+
+    /**
+     * 通过无参构造方法创建实例
+     *
+     * @return JavaBean对象
+     */
+    Object newInstance();
+}
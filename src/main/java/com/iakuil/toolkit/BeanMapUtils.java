@@ -1,17 +1,23 @@
 package com.iakuil.toolkit;
 
-import net.sf.cglib.beans.BeanMap;
-
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The utility for converting between JavaBean and Map.
  *
- * <p>Base on {@link BeanMap} from cglib.
+ * <p>Base on {@link BeanAccessor} from the current {@link AccessorBackend}.
+ * <p>每个类型的访问器只生成一次，之后按属性下标读写。
  *
  * @author Kai
  */
 public class BeanMapUtils {
+    private static final Map<Class<?>, BeanAccessor> BEAN_MAP_CACHE = new ConcurrentHashMap<>();
+
+    static {
+        Metrics.registerGauge("beanmap.cache.size", BEAN_MAP_CACHE::size);
+    }
+
     private BeanMapUtils() {
     }
 
@@ -39,15 +45,17 @@ public class BeanMapUtils {
             return Collections.emptyMap();
         }
 
-        Map<String, Object> map = new HashMap<>();
-        BeanMap beanMap = BeanMap.create(bean);
-        for (Object key : beanMap.keySet()) {
-            Object value = beanMap.get(key);
+        long start = Metrics.start();
+        BeanAccessor accessor = accessorOf(bean.getClass());
+        Map<String, Object> map = new HashMap<>((int) (accessor.size() / 0.75f) + 1);
+        for (int i = 0; i < accessor.size(); i++) {
+            Object value = accessor.get(bean, i);
             if (value == null && ignoreNull) {
                 continue;
             }
-            map.put(key + "", value);
+            map.put(accessor.getName(i), value);
         }
+        Metrics.stop("beanmap.to_map", start);
         return map;
     }
 
@@ -60,11 +68,13 @@ public class BeanMapUtils {
      * @return 指定类型的JavaBean
      */
     public static <T> T mapToBean(Map<String, Object> map, Class<T> clazz) {
-        T target = getInstance(clazz);
+        long start = Metrics.start();
+        BeanAccessor accessor = accessorOf(clazz);
+        T target = clazz.cast(accessor.newInstance());
         if (map != null) {
-            BeanMap beanMap = BeanMap.create(target);
-            beanMap.putAll(map);
+            putAll(accessor, target, map);
         }
+        Metrics.stop("beanmap.to_bean", start);
         return target;
     }
 
@@ -78,8 +88,7 @@ public class BeanMapUtils {
      */
     public static <T> T mapToBean(Map<String, Object> map, T bean) {
         if (map != null) {
-            BeanMap beanMap = BeanMap.create(bean);
-            beanMap.putAll(map);
+            putAll(accessorOf(bean.getClass()), bean, map);
         }
         return bean;
     }
@@ -123,14 +132,29 @@ public class BeanMapUtils {
         return list;
     }
 
-    private static <T> T getInstance(Class<T> clazz) {
-        T inst;
-        try {
-            inst = clazz.getDeclaredConstructor().newInstance();
-        } catch (Exception e) {
-            throw new IllegalStateException("Occurring an exception during class instancing!", e);
+    /**
+     * 获取指定类型的属性访问器，按类型缓存
+     *
+     * @param clazz JavaBean类型
+     * @return 属性访问器
+     */
+    static BeanAccessor accessorOf(Class<?> clazz) {
+        BeanAccessor accessor = BEAN_MAP_CACHE.get(clazz);
+        if (accessor == null) {
+            Metrics.increment("beanmap.cache.miss");
+            accessor = BEAN_MAP_CACHE.computeIfAbsent(clazz, AccessorBackends.current()::accessor);
+        } else {
+            Metrics.increment("beanmap.cache.hit");
         }
+        return accessor;
+    }
 
-        return inst;
+    private static void putAll(BeanAccessor accessor, Object bean, Map<String, Object> map) {
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            int index = accessor.indexOf(entry.getKey());
+            if (index >= 0) {
+                accessor.set(bean, index, entry.getValue());
+            }
+        }
     }
 }
@@ -0,0 +1,119 @@
+package com.iakuil.toolkit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 读入已有对象前重置对象图
+ *
+ * <p>Jackson合并模式下没有出现的属性保留原值、集合和数组会追加元素、Map会保留旧的键，
+ * 这里在读入前把可写的普通属性重置为null，基本类型重置为0或false，避免沿用上一条消息的值；
+ * 集合和Map清空后保留其底层容量以便复用，不可修改的集合置为null；数组属性置为null；
+ * 嵌套的javabean保留实例并递归重置，由Jackson原地合并。
+ * <p>每个类型只计算一次需要处理的属性；线程安全，但同一个对象不能被并发重置。
+ *
+ * @author Kai
+ */
+final class BeanResetter {
+    private static final int MAX_DEPTH = 32;
+    private static final Map<Class<?>, ResetPlan> PLANS = new ConcurrentHashMap<>();
+
+    private BeanResetter() {
+    }
+
+    /**
+     * 重置对象图
+     *
+     * @param bean javabean对象
+     */
+    static void reset(Object bean) {
+        reset(bean, 0);
+    }
+
+    private static void reset(Object bean, int depth) {
+        if (depth > MAX_DEPTH) {
+            return;
+        }
+        Class<?> clazz = bean.getClass();
+        ResetPlan plan = PLANS.get(clazz);
+        if (plan == null) {
+            plan = PLANS.computeIfAbsent(clazz, c -> new ResetPlan(BeanMapUtils.accessorOf(c)));
+        }
+
+        BeanAccessor accessor = BeanMapUtils.accessorOf(clazz);
+        for (int index : plan.scalars) {
+            accessor.set(bean, index, null);
+        }
+        for (int index : plan.containers) {
+            Object value = accessor.get(bean, index);
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof Collection || value instanceof Map) {
+                try {
+                    if (value instanceof Collection) {
+                        ((Collection<?>) value).clear();
+                    } else {
+                        ((Map<?, ?>) value).clear();
+                    }
+                } catch (UnsupportedOperationException e) {
+                    clear(accessor, bean, index);
+                }
+            } else if (isBean(value.getClass())) {
+                reset(value, depth + 1);
+            } else {
+                // 数组以及声明为Object等类型的普通值
+                clear(accessor, bean, index);
+            }
+        }
+    }
+
+    private static void clear(BeanAccessor accessor, Object bean, int index) {
+        if (accessor.isWritable(index)) {
+            accessor.set(bean, index, null);
+        }
+    }
+
+    private static boolean isContainer(Class<?> type) {
+        return type == Object.class || Collection.class.isAssignableFrom(type)
+            || Map.class.isAssignableFrom(type) || type.isArray() || isBean(type);
+    }
+
+    private static boolean isBean(Class<?> type) {
+        String name = type.getName();
+        return !type.isPrimitive() && !type.isEnum() && !type.isInterface() && !type.isArray()
+            && !name.startsWith("java.") && !name.startsWith("javax.");
+    }
+
+    /**
+     * 按属性类型划分的重置方式
+     */
+    private static final class ResetPlan {
+        /**
+         * 直接置为null的可写属性，包括不可读的属性，基本类型由访问器置为默认值
+         */
+        private final int[] scalars;
+        /**
+         * 需要读取当前值的可读属性：集合、Map、数组、嵌套javabean以及Object
+         */
+        private final int[] containers;
+
+        ResetPlan(BeanAccessor accessor) {
+            List<Integer> scalars = new ArrayList<>();
+            List<Integer> containers = new ArrayList<>();
+            for (int i = 0; i < accessor.size(); i++) {
+                Class<?> type = accessor.getType(i);
+                if (accessor.isReadable(i) && isContainer(type)) {
+                    containers.add(i);
+                } else if (accessor.isWritable(i)) {
+                    scalars.add(i);
+                }
+            }
+            this.scalars = scalars.stream().mapToInt(Integer::intValue).toArray();
+            this.containers = containers.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
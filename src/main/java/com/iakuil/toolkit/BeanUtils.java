@@ -1,27 +1,43 @@
 package com.iakuil.toolkit;
 
-import net.sf.cglib.beans.BeanCopier;
-import org.apache.commons.collections4.map.MultiKeyMap;
-
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The utility for javabean properties copying.
  *
- * <p>Base on {@link BeanCopier} from cglib
+ * <p>Base on {@link PropertyCopier} from the current {@link AccessorBackend}, cglib on JDK 8 and LambdaMetafactory on JDK 9+.
  * <p>效率仅次于Getter/Setter以及Mapstruct。
  * <p>注意：属性名称相同而类型不同的属性不会被拷贝。
+ * <p>目标类型没有无参构造方法时，通过record的规范构造方法、Builder等创建，参见{@link CopyPlan}。
  *
  * @author Kai
  */
 public class BeanUtils {
-    private static final MultiKeyMap<Class<?>, BeanCopier> BEAN_TYPE_CACHE = new MultiKeyMap<>();
+    private static final Map<CopierKey, CopyPlan> BEAN_TYPE_CACHE = new ConcurrentHashMap<>();
+    private static final Map<CopierKey, BeanDiffer> DIFFER_CACHE = new ConcurrentHashMap<>();
+
+    static {
+        Metrics.registerGauge("bean.copier.size", BEAN_TYPE_CACHE::size);
+        Metrics.registerGauge("bean.differ.size", DIFFER_CACHE::size);
+    }
 
     private BeanUtils() {
     }
 
+    /**
+     * 当前使用的属性访问后端
+     *
+     * @return 属性访问后端
+     */
+    public static AccessorBackend getBackend() {
+        return AccessorBackends.current();
+    }
+
     /**
      * 对象属性复制
      *
@@ -35,8 +51,9 @@ public class BeanUtils {
             return null;
         }
 
-        T toObj = getInstance(to);
-        getCopier(from.getClass(), to).copy(from, toObj, null);
+        long start = Metrics.start();
+        T toObj = to.cast(getPlan(from.getClass(), to).copy(from));
+        Metrics.stop("bean.copy", start);
         return toObj;
     }
 
@@ -53,35 +70,107 @@ public class BeanUtils {
             return null;
         }
 
+        long start = Metrics.start();
         List<T> results = new ArrayList<>();
-        BeanCopier copier = getCopier(from.stream().findFirst().get().getClass(), to);
+        CopyPlan plan = getPlan(from.stream().findFirst().get().getClass(), to);
         for (Object obj : from) {
-            T toObj = getInstance(to);
-            copier.copy(obj, toObj, null);
-            results.add(toObj);
+            results.add(to.cast(plan.copy(obj)));
         }
 
+        Metrics.stop("bean.copy_many", start);
         return results;
     }
 
-    private static <T> T getInstance(Class<T> clazz) {
-        T inst;
-        try {
-            inst = clazz.getDeclaredConstructor().newInstance();
-        } catch (Exception e) {
-            throw new IllegalStateException("Occurring an exception during object instancing!", e);
+    /**
+     * 比较两个对象的属性
+     *
+     * @param from 左侧对象
+     * @param to   右侧对象
+     * @return 值不同的属性名称，没有差异时返回空列表
+     * @see BeanDiffer#diff(Object, Object)
+     */
+    public static List<String> diff(Object from, Object to) {
+        Objects.requireNonNull(from, "Source object must not be null!");
+        Objects.requireNonNull(to, "Target object must not be null!");
+        return differ(from.getClass(), to.getClass()).diff(from, to);
+    }
+
+    /**
+     * 将源对象的非null属性合并到目标对象，用于部分更新
+     *
+     * @param <T>  javabean类型
+     * @param from 源对象
+     * @param to   目标对象
+     * @return 目标对象
+     * @see BeanDiffer#merge(Object, Object)
+     */
+    public static <T> T merge(Object from, T to) {
+        if (from == null || to == null) {
+            return to;
         }
 
-        return inst;
+        long start = Metrics.start();
+        differ(from.getClass(), to.getClass()).merge(from, to);
+        Metrics.stop("bean.merge", start);
+        return to;
     }
 
-    private static BeanCopier getCopier(Class<?> from, Class<?> to) {
-        BeanCopier copier = BEAN_TYPE_CACHE.get(from, to);
-        if (copier == null) {
-            copier = BeanCopier.create(from, to, false);
-            BEAN_TYPE_CACHE.put(from, to, copier);
+    /**
+     * 获取指定类型对的属性比较器，按类型对缓存，批量比较时可以直接持有
+     *
+     * @param from 左侧类型
+     * @param to   右侧类型
+     * @return 属性比较器
+     */
+    public static BeanDiffer differ(Class<?> from, Class<?> to) {
+        return DIFFER_CACHE.computeIfAbsent(new CopierKey(from, to),
+            k -> new BeanDiffer(BeanMapUtils.accessorOf(from), BeanMapUtils.accessorOf(to)));
+    }
+
+    /**
+     * 获取指定类型对的复制计划，按类型对缓存
+     *
+     * @param from 源类型
+     * @param to   目标类型
+     * @return 复制计划
+     */
+    static CopyPlan getPlan(Class<?> from, Class<?> to) {
+        CopierKey key = new CopierKey(from, to);
+        CopyPlan plan = BEAN_TYPE_CACHE.get(key);
+        if (plan == null) {
+            Metrics.increment("bean.copier.miss");
+            plan = BEAN_TYPE_CACHE.computeIfAbsent(key, k -> CopyPlan.compile(from, to));
+        } else {
+            Metrics.increment("bean.copier.hit");
         }
 
-        return copier;
+        return plan;
+    }
+
+    private static final class CopierKey {
+        private final Class<?> from;
+        private final Class<?> to;
+
+        CopierKey(Class<?> from, Class<?> to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CopierKey)) {
+                return false;
+            }
+            CopierKey that = (CopierKey) o;
+            return from == that.from && to == that.to;
+        }
+
+        @Override
+        public int hashCode() {
+            return from.hashCode() * 31 + to.hashCode();
+        }
     }
 }
@@ -0,0 +1,451 @@
+package com.iakuil.toolkit;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 属性访问器预热工具
+ *
+ * <p>{@link BeanUtils}和{@link BeanMapUtils}首次处理某个类型时需要生成并加载类，耗时可达毫秒级，
+ * 新实例启动后的前几个请求会因此出现延迟尖刺。通过本工具可以在启动阶段并行地预先生成：
+ * <pre>
+ * BeanWarmer.create()
+ *     .copier(Order.class, OrderDto.class)
+ *     .scan("com.example.model")
+ *     .pairBySuffix("Dto")
+ *     .warmUp();
+ * </pre>
+ * <p>使用cglib后端时，也可以在构建阶段运行{@link #main(String[])}，将生成的类输出到编译目录并随jar发布，
+ * 运行时按稳定的类名直接加载，完全省去字节码生成。构建阶段生成只对cglib后端有效，JDK 9及以上默认使用lambda后端，
+ * 不会加载这些类，需要同时指定{@code -Dez-toolkit.accessor.backend=cglib}：
+ * <pre>
+ * java -cp ... com.iakuil.toolkit.BeanWarmer target/classes --suffix Dto com.example.model
+ * </pre>
+ * <p>非线程安全，每次预热使用独立的实例。
+ *
+ * @author Kai
+ */
+public final class BeanWarmer {
+    /**
+     * cglib输出生成类的目录，等同于{@code net.sf.cglib.core.DebuggingClassWriter.DEBUG_LOCATION_PROPERTY}
+     */
+    static final String DEBUG_LOCATION_PROPERTY = "cglib.debugLocation";
+
+    private final Set<Class<?>> beanMaps = new LinkedHashSet<>();
+    private final Map<Class<?>, Set<Class<?>>> copiers = new LinkedHashMap<>();
+    private final Set<Class<?>> scanned = new LinkedHashSet<>();
+    private final List<String> suffixes = new ArrayList<>();
+    private ClassLoader classLoader;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private BeanWarmer() {
+    }
+
+    /**
+     * 创建预热任务
+     *
+     * @return 预热任务
+     */
+    public static BeanWarmer create() {
+        return new BeanWarmer();
+    }
+
+    /**
+     * 预热单向的属性复制
+     *
+     * @param from 源类型
+     * @param to   目标类型
+     * @return 当前实例
+     */
+    public BeanWarmer copier(Class<?> from, Class<?> to) {
+        Objects.requireNonNull(from, "Source class must not be null!");
+        Objects.requireNonNull(to, "Target class must not be null!");
+        copiers.computeIfAbsent(from, k -> new LinkedHashSet<>()).add(to);
+        return this;
+    }
+
+    /**
+     * 预热双向的属性复制
+     *
+     * @param one   类型之一
+     * @param other 类型之二
+     * @return 当前实例
+     */
+    public BeanWarmer copiers(Class<?> one, Class<?> other) {
+        return copier(one, other).copier(other, one);
+    }
+
+    /**
+     * 预热Bean与Map之间的转换
+     *
+     * @param classes JavaBean类型
+     * @return 当前实例
+     */
+    public BeanWarmer beanMap(Class<?>... classes) {
+        for (Class<?> clazz : classes) {
+            beanMaps.add(Objects.requireNonNull(clazz, "Bean class must not be null!"));
+        }
+        return this;
+    }
+
+    /**
+     * 扫描包（含子包）下的JavaBean，为其预热Bean与Map之间的转换
+     *
+     * <p>只收录具有public无参构造方法的非抽象public类。
+     *
+     * @param packages 包名
+     * @return 当前实例
+     */
+    public BeanWarmer scan(String... packages) {
+        for (String pkg : packages) {
+            for (Class<?> clazz : scanPackage(pkg, loader())) {
+                scanned.add(clazz);
+                beanMaps.add(clazz);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 按命名后缀在扫描到的类型之间配对，为每一对预热双向的属性复制
+     *
+     * <p>例如后缀为"Dto"时，{@code Order}与{@code OrderDto}配对，两者不必在同一个包下。
+     *
+     * @param suffix 类名后缀
+     * @return 当前实例
+     */
+    public BeanWarmer pairBySuffix(String suffix) {
+        if (suffix == null || suffix.isEmpty()) {
+            throw new IllegalArgumentException("Suffix must not be empty!");
+        }
+        suffixes.add(suffix);
+        return this;
+    }
+
+    /**
+     * 扫描包时使用的ClassLoader，默认为线程上下文ClassLoader
+     *
+     * @param classLoader ClassLoader
+     * @return 当前实例
+     */
+    public BeanWarmer classLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+        return this;
+    }
+
+    /**
+     * 预热并行度，默认为CPU核数
+     *
+     * @param parallelism 并行度
+     * @return 当前实例
+     */
+    public BeanWarmer parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive!");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 并行生成全部登记的类，单个类型失败不影响其它类型
+     *
+     * @return 预热结果
+     */
+    public Report warmUp() {
+        long start = System.nanoTime();
+        pairScannedClasses();
+
+        Map<String, Callable<Object>> tasks = new LinkedHashMap<>();
+        for (Class<?> clazz : beanMaps) {
+            tasks.put("Accessor " + clazz.getName(), () -> BeanMapUtils.accessorOf(clazz));
+        }
+        for (Map.Entry<Class<?>, Set<Class<?>>> entry : copiers.entrySet()) {
+            Class<?> from = entry.getKey();
+            for (Class<?> to : entry.getValue()) {
+                tasks.put("Copier " + from.getName() + " -> " + to.getName(), () -> BeanUtils.getPlan(from, to));
+            }
+        }
+
+        Map<String, Throwable> failures = new LinkedHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(tasks.size(), 1)), r -> {
+            Thread thread = new Thread(r, "ez-toolkit-warmer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Map<String, Future<Object>> futures = new LinkedHashMap<>();
+            for (Map.Entry<String, Callable<Object>> task : tasks.entrySet()) {
+                futures.put(task.getKey(), executor.submit(task.getValue()));
+            }
+            for (Map.Entry<String, Future<Object>> future : futures.entrySet()) {
+                try {
+                    future.getValue().get();
+                } catch (ExecutionException e) {
+                    failures.put(future.getKey(), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during warming up!", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int copierCount = copiers.values().stream().mapToInt(Set::size).sum();
+        return new Report(beanMaps.size(), copierCount, failures, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * 构建阶段预生成cglib类
+     *
+     * <p>总是使用cglib后端生成，只有运行时同样使用cglib后端时才会加载。参数：{@code <输出目录> [--suffix 后缀]... <包名>...}，生成的类写入输出目录（通常为target/classes）。
+     * <p>cglib会输出本次生成的全部类，包括KeyFactory等内部类，结束后只保留按{@link StableNamingPolicy}命名的类，
+     * 其余新写入的文件被删除，避免随jar发布。
+     *
+     * @param args 命令行参数
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: BeanWarmer <output-dir> [--suffix <suffix>]... <package>...");
+            System.exit(2);
+        }
+
+        File output = new File(args[0]).getAbsoluteFile();
+        Set<Path> existing = listFiles(output.toPath());
+        // 必须在cglib生成第一个类之前设置
+        System.setProperty(DEBUG_LOCATION_PROPERTY, output.getPath());
+        System.setProperty(AccessorBackends.BACKEND_PROPERTY, AccessorBackends.CGLIB);
+        BeanWarmer warmer = create();
+        List<String> packages = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            if ("--suffix".equals(args[i]) && i + 1 < args.length) {
+                warmer.pairBySuffix(args[++i]);
+            } else {
+                packages.add(args[i]);
+            }
+        }
+
+        Report report = warmer.scan(packages.toArray(new String[0])).warmUp();
+        removeUnstableClasses(output.toPath(), existing);
+        System.out.println(report);
+        report.getFailures().forEach((name, e) -> System.err.println(name + ": " + e));
+        if (!report.getFailures().isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 删除本次新写入的、不是按稳定名称生成的文件，以及因此变空的新目录
+     */
+    private static void removeUnstableClasses(Path output, Set<Path> existing) {
+        List<Path> created = new ArrayList<>(listFiles(output));
+        created.removeAll(existing);
+        // 子路径排在父目录之前，目录变空后才能删除
+        created.sort(Comparator.comparingInt(Path::getNameCount).reversed());
+        try {
+            for (Path path : created) {
+                if (Files.isDirectory(path)) {
+                    try (Stream<Path> children = Files.list(path)) {
+                        if (!children.findAny().isPresent()) {
+                            Files.delete(path);
+                        }
+                    }
+                } else if (!StableNamingPolicy.isStableName(path.getFileName().toString())) {
+                    Files.delete(path);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during generated class cleaning!", e);
+        }
+    }
+
+    private static Set<Path> listFiles(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            return Collections.emptySet();
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(path -> !path.equals(dir)).collect(Collectors.toSet());
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during generated class cleaning!", e);
+        }
+    }
+
+    private void pairScannedClasses() {
+        if (suffixes.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<Class<?>>> bySimpleName = new HashMap<>();
+        for (Class<?> clazz : scanned) {
+            bySimpleName.computeIfAbsent(clazz.getSimpleName(), k -> new ArrayList<>()).add(clazz);
+        }
+        for (String suffix : suffixes) {
+            for (Class<?> clazz : scanned) {
+                List<Class<?>> partners = bySimpleName.get(clazz.getSimpleName() + suffix);
+                if (partners != null) {
+                    partners.forEach(partner -> copiers(clazz, partner));
+                }
+            }
+        }
+    }
+
+    private ClassLoader loader() {
+        if (classLoader != null) {
+            return classLoader;
+        }
+        ClassLoader context = Thread.currentThread().getContextClassLoader();
+        return context != null ? context : BeanWarmer.class.getClassLoader();
+    }
+
+    private static List<Class<?>> scanPackage(String pkg, ClassLoader loader) {
+        String path = pkg.replace('.', '/');
+        Set<String> classNames = new TreeSet<>();
+        try {
+            Enumeration<URL> resources = loader.getResources(path);
+            while (resources.hasMoreElements()) {
+                URL url = resources.nextElement();
+                if ("file".equals(url.getProtocol())) {
+                    collectFromDirectory(new File(URLDecoder.decode(url.getFile(), "UTF-8")), pkg, classNames);
+                } else if ("jar".equals(url.getProtocol())) {
+                    JarURLConnection connection = (JarURLConnection) url.openConnection();
+                    connection.setUseCaches(false);
+                    try (JarFile jar = connection.getJarFile()) {
+                        collectFromJar(jar, path, classNames);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during package scanning!", e);
+        }
+
+        List<Class<?>> classes = new ArrayList<>();
+        for (String className : classNames) {
+            Class<?> clazz;
+            try {
+                clazz = Class.forName(className, false, loader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                continue;
+            }
+            if (isBean(clazz)) {
+                classes.add(clazz);
+            }
+        }
+        return classes;
+    }
+
+    private static void collectFromDirectory(File dir, String pkg, Set<String> classNames) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            if (file.isDirectory()) {
+                collectFromDirectory(file, pkg + "." + name, classNames);
+            } else if (isCandidate(name)) {
+                classNames.add(pkg + "." + name.substring(0, name.length() - ".class".length()));
+            }
+        }
+    }
+
+    private static void collectFromJar(JarFile jar, String path, Set<String> classNames) {
+        Enumeration<JarEntry> entries = jar.entries();
+        while (entries.hasMoreElements()) {
+            String name = entries.nextElement().getName();
+            if (name.startsWith(path + "/") && isCandidate(name)) {
+                classNames.add(name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+            }
+        }
+    }
+
+    private static boolean isCandidate(String fileName) {
+        // 跳过cglib生成的类，避免为其再次生成
+        return fileName.endsWith(".class") && !fileName.contains("$$") && !fileName.endsWith("package-info.class");
+    }
+
+    private static boolean isBean(Class<?> clazz) {
+        int modifiers = clazz.getModifiers();
+        if (!Modifier.isPublic(modifiers) || Modifier.isAbstract(modifiers) || clazz.isInterface()
+            || clazz.isEnum() || clazz.isAnnotation() || clazz.isAnonymousClass() || clazz.isLocalClass()
+            || (clazz.isMemberClass() && !Modifier.isStatic(modifiers))) {
+            return false;
+        }
+        try {
+            return Modifier.isPublic(clazz.getConstructor().getModifiers());
+        } catch (NoSuchMethodException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * 预热结果
+     */
+    public static final class Report {
+        private final int beanMaps;
+        private final int copiers;
+        private final Map<String, Throwable> failures;
+        private final long elapsedMillis;
+
+        Report(int beanMaps, int copiers, Map<String, Throwable> failures, long elapsedMillis) {
+            this.beanMaps = beanMaps;
+            this.copiers = copiers;
+            this.failures = Collections.unmodifiableMap(failures);
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        /**
+         * 登记的BeanMap数量，含失败的
+         *
+         * @return BeanMap数量
+         */
+        public int getBeanMaps() {
+            return beanMaps;
+        }
+
+        /**
+         * 登记的Copier数量，含失败的
+         *
+         * @return Copier数量
+         */
+        public int getCopiers() {
+            return copiers;
+        }
+
+        /**
+         * 生成失败的类型及原因
+         *
+         * @return 失败描述到异常的映射
+         */
+        public Map<String, Throwable> getFailures() {
+            return failures;
+        }
+
+        /**
+         * 预热耗时
+         *
+         * @return 毫秒数
+         */
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "Report{beanMaps=" + beanMaps + ", copiers=" + copiers + ", failures=" + failures.size()
+                + ", elapsedMillis=" + elapsedMillis + "}";
+        }
+    }
+}
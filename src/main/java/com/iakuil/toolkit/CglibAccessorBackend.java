@@ -0,0 +1,157 @@
+package com.iakuil.toolkit;
+
+import net.sf.cglib.beans.BeanCopier;
+import net.sf.cglib.beans.BeanMap;
+import net.sf.cglib.core.ReflectUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Constructor;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 基于cglib的属性访问后端
+ *
+ * <p>复制器基于{@link BeanCopier}，访问器基于{@link BeanMap}；生成的类名是稳定的，
+ * 优先加载类路径上预生成的类，参见{@link BeanWarmer}。
+ *
+ * @author Kai
+ */
+final class CglibAccessorBackend implements AccessorBackend {
+
+    @Override
+    public String getName() {
+        return AccessorBackends.CGLIB;
+    }
+
+    @Override
+    public BeanAccessor accessor(Class<?> clazz) {
+        BeanMap.Generator generator = new BeanMap.Generator();
+        generator.setBeanClass(clazz);
+        generator.setNamingPolicy(StableNamingPolicy.forBeanMap(clazz));
+        generator.setAttemptLoad(true);
+        return new CglibBeanAccessor(clazz, generator.create());
+    }
+
+    @Override
+    public PropertyCopier copier(Class<?> from, Class<?> to) {
+        BeanCopier.Generator generator = new BeanCopier.Generator();
+        generator.setSource(from);
+        generator.setTarget(to);
+        generator.setNamingPolicy(StableNamingPolicy.forCopier(from, to));
+        generator.setAttemptLoad(true);
+        BeanCopier copier = generator.create();
+        return (source, target) -> copier.copy(source, target, null);
+    }
+
+    private static final class CglibBeanAccessor implements BeanAccessor {
+        private final Class<?> beanClass;
+        private final BeanMap template;
+        private final String[] names;
+        private final Class<?>[] types;
+        private final Object[] zeros;
+        private final boolean[] readable;
+        private final boolean[] writable;
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final Constructor<?> constructor;
+
+        CglibBeanAccessor(Class<?> beanClass, BeanMap template) {
+            this.beanClass = beanClass;
+            this.template = template;
+
+            Set<String> getters = namesOf(ReflectUtils.getBeanGetters(beanClass));
+            Set<String> setters = namesOf(ReflectUtils.getBeanSetters(beanClass));
+            names = new String[template.size()];
+            types = new Class<?>[names.length];
+            zeros = new Object[names.length];
+            readable = new boolean[names.length];
+            writable = new boolean[names.length];
+            int i = 0;
+            for (Object key : template.keySet()) {
+                String name = (String) key;
+                names[i] = name;
+                types[i] = template.getPropertyType(name);
+                zeros[i] = AccessorBackends.zeroOf(types[i]);
+                readable[i] = getters.contains(name);
+                writable[i] = setters.contains(name);
+                indexes.put(name, i++);
+            }
+
+            Constructor<?> ctor;
+            try {
+                ctor = beanClass.getDeclaredConstructor();
+            } catch (NoSuchMethodException e) {
+                ctor = null;
+            }
+            constructor = ctor;
+        }
+
+        @Override
+        public Class<?> getBeanClass() {
+            return beanClass;
+        }
+
+        @Override
+        public int size() {
+            return names.length;
+        }
+
+        @Override
+        public String getName(int index) {
+            return names[index];
+        }
+
+        @Override
+        public Class<?> getType(int index) {
+            return types[index];
+        }
+
+        @Override
+        public int indexOf(String name) {
+            Integer index = indexes.get(name);
+            return index == null ? -1 : index;
+        }
+
+        @Override
+        public boolean isReadable(int index) {
+            return readable[index];
+        }
+
+        @Override
+        public boolean isWritable(int index) {
+            return writable[index];
+        }
+
+        @Override
+        public Object get(Object bean, int index) {
+            return template.get(bean, names[index]);
+        }
+
+        @Override
+        public void set(Object bean, int index, Object value) {
+            template.put(bean, names[index], value == null ? zeros[index] : value);
+        }
+
+        @Override
+        public Object newInstance() {
+            if (constructor == null) {
+                throw new IllegalStateException("No default constructor found in " + beanClass.getName() + "!");
+            }
+            try {
+                return constructor.newInstance();
+            } catch (Exception e) {
+                throw new IllegalStateException("Occurring an exception during object instancing!", e);
+            }
+        }
+
+        private static Set<String> namesOf(PropertyDescriptor[] properties) {
+            Set<String> names = new HashSet<>();
+            for (PropertyDescriptor property : properties) {
+                names.add(property.getName());
+            }
+            return names;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.iakuil.toolkit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 为类型对生成直线式的属性复制类
+ *
+ * <p>逐个属性调用lambda的复制器在热点路径上是多态调用，无法内联；这里直接写出只含
+ * {@code to.setXxx(from.getXxx())}序列的字节码，效果等同于手写的Getter/Setter。
+ * <p>生成的类定义在源类型所在的包中：JDK 15及以上是隐藏类，JDK 9至14通过{@code Lookup.defineClass}定义，
+ * JDK 8或者类型之间不可见时返回null，由调用方退回lambda实现。定义类时的访问和链接失败同样退回lambda实现，
+ * 并计入{@code bean.copier.generate.fallback}指标；校验失败等生成器自身的错误直接抛出。
+ * <p>方法体没有分支，不需要StackMapTable。
+ *
+ * @author Kai
+ */
+final class CopierClassGenerator {
+    private static final int CLASS_VERSION = 52;
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int ALOAD_3 = 0x2d;
+    private static final int ALOAD = 0x19;
+    private static final int ASTORE_3 = 0x4e;
+    private static final int ASTORE = 0x3a;
+    private static final int CHECKCAST = 0xc0;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int RETURN = 0xb1;
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final Method DEFINE_HIDDEN_CLASS = findDefineHiddenClass();
+    private static final Object HIDDEN_CLASS_OPTIONS = DEFINE_HIDDEN_CLASS == null
+        ? null : Array.newInstance(DEFINE_HIDDEN_CLASS.getParameterTypes()[2].getComponentType(), 0);
+    private static final Method DEFINE_CLASS = findDefineClass();
+
+    private CopierClassGenerator() {
+    }
+
+    /**
+     * 生成属性复制器
+     *
+     * @param lookup  对源类型有私有访问权限的Lookup
+     * @param from    源类型
+     * @param to      目标类型
+     * @param getters 源类型的Getter
+     * @param setters 目标类型的Setter，与Getter一一对应且类型一致
+     * @return 属性复制器，当前环境不支持时返回null
+     */
+    static PropertyCopier generate(MethodHandles.Lookup lookup, Class<?> from, Class<?> to, List<Method> getters, List<Method> setters) {
+        if ((DEFINE_HIDDEN_CLASS == null && DEFINE_CLASS == null)
+            || from.isInterface() || to.isInterface()
+            || lookup.lookupClass() != from
+            || (lookup.lookupModes() & MethodHandles.Lookup.PRIVATE) == 0
+            || !isVisible(from, to)
+            || !isVisible(from, PropertyCopier.class)) {
+            return null;
+        }
+        for (Method getter : getters) {
+            if (!isVisible(from, getter.getReturnType())) {
+                return null;
+            }
+        }
+
+        String name = from.getName() + "$$PropertyCopier$$" + SEQUENCE.incrementAndGet();
+        try {
+            byte[] bytes = classBytes(internalName(name), from, to, getters, setters);
+            Class<?> clazz;
+            MethodHandles.Lookup classLookup;
+            if (DEFINE_HIDDEN_CLASS != null) {
+                classLookup = (MethodHandles.Lookup) DEFINE_HIDDEN_CLASS.invoke(lookup, bytes, true, HIDDEN_CLASS_OPTIONS);
+                clazz = classLookup.lookupClass();
+            } else {
+                clazz = (Class<?>) DEFINE_CLASS.invoke(lookup, (Object) bytes);
+                classLookup = lookup;
+            }
+            return (PropertyCopier) classLookup.findConstructor(clazz, MethodType.methodType(void.class)).invoke();
+        } catch (Throwable e) {
+            Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+            if (isDefinitionFailure(cause)) {
+                // 无法定义时退回lambda实现
+                Metrics.increment("bean.copier.generate.fallback");
+                return null;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Occurring an exception during copier generating!", cause);
+        }
+    }
+
+    /**
+     * 访问受限、当前JDK不支持或链接失败，不包括字节码本身的错误
+     */
+    private static boolean isDefinitionFailure(Throwable e) {
+        return e instanceof IllegalAccessException || e instanceof UnsupportedOperationException
+            || (e instanceof LinkageError && !(e instanceof VerifyError) && !(e instanceof ClassFormatError));
+    }
+
+    private static boolean isVisible(Class<?> from, Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive() || type == from) {
+            return true;
+        }
+        if (!Modifier.isPublic(type.getModifiers()) && !samePackage(from, type)) {
+            return false;
+        }
+        try {
+            return Class.forName(type.getName(), false, from.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static boolean samePackage(Class<?> one, Class<?> other) {
+        String name = one.getName();
+        String otherName = other.getName();
+        int dot = name.lastIndexOf('.');
+        return one.getClassLoader() == other.getClassLoader()
+            && dot == otherName.lastIndexOf('.')
+            && name.regionMatches(0, otherName, 0, dot + 1);
+    }
+
+    private static byte[] classBytes(String name, Class<?> from, Class<?> to, List<Method> getters, List<Method> setters) throws IOException {
+        ConstantPool pool = new ConstantPool();
+        int thisClass = pool.classRef(name);
+        int superClass = pool.classRef("java/lang/Object");
+        int copierInterface = pool.classRef(internalName(PropertyCopier.class.getName()));
+        int fromClass = pool.classRef(internalName(from.getName()));
+        int toClass = pool.classRef(internalName(to.getName()));
+        int objectInit = pool.methodRef("java/lang/Object", "<init>", "()V");
+        int initName = pool.utf8("<init>");
+        int initDescriptor = pool.utf8("()V");
+        int copyName = pool.utf8("copy");
+        int copyDescriptor = pool.utf8("(Ljava/lang/Object;Ljava/lang/Object;)V");
+        int codeName = pool.utf8("Code");
+
+        ByteArrayOutputStream code = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(code);
+        // to -> local 3, from -> local 4
+        out.writeByte(ALOAD_2);
+        out.writeByte(CHECKCAST);
+        out.writeShort(toClass);
+        out.writeByte(ASTORE_3);
+        out.writeByte(ALOAD_1);
+        out.writeByte(CHECKCAST);
+        out.writeShort(fromClass);
+        out.writeByte(ASTORE);
+        out.writeByte(4);
+        for (int i = 0; i < getters.size(); i++) {
+            Method getter = getters.get(i);
+            Method setter = setters.get(i);
+            out.writeByte(ALOAD_3);
+            out.writeByte(ALOAD);
+            out.writeByte(4);
+            out.writeByte(INVOKEVIRTUAL);
+            out.writeShort(pool.methodRef(internalName(from.getName()), getter.getName(), descriptor(getter)));
+            out.writeByte(INVOKEVIRTUAL);
+            out.writeShort(pool.methodRef(internalName(to.getName()), setter.getName(), descriptor(setter)));
+        }
+        out.writeByte(RETURN);
+        out.flush();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream clazz = new DataOutputStream(bytes);
+        clazz.writeInt(0xCAFEBABE);
+        clazz.writeShort(0);
+        clazz.writeShort(CLASS_VERSION);
+        pool.writeTo(clazz);
+        clazz.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+        clazz.writeShort(thisClass);
+        clazz.writeShort(superClass);
+        clazz.writeShort(1);
+        clazz.writeShort(copierInterface);
+        clazz.writeShort(0);
+        clazz.writeShort(2);
+
+        byte[] init = {ALOAD_0, (byte) INVOKESPECIAL, (byte) (objectInit >> 8), (byte) objectInit, (byte) RETURN};
+        writeMethod(clazz, initName, initDescriptor, codeName, 1, 1, init);
+        // 操作数栈最多为to、from或long/double返回值
+        writeMethod(clazz, copyName, copyDescriptor, codeName, 3, 5, code.toByteArray());
+        clazz.writeShort(0);
+        clazz.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeMethod(DataOutputStream out, int name, int descriptor, int codeName, int maxStack, int maxLocals, byte[] code) throws IOException {
+        out.writeShort(ACC_PUBLIC);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(codeName);
+        out.writeInt(12 + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0);
+        out.writeShort(0);
+    }
+
+    private static String descriptor(Method method) {
+        StringBuilder descriptor = new StringBuilder("(");
+        for (Class<?> type : method.getParameterTypes()) {
+            descriptor.append(descriptor(type));
+        }
+        return descriptor.append(')').append(descriptor(method.getReturnType())).toString();
+    }
+
+    private static String descriptor(Class<?> type) {
+        if (type.isArray()) {
+            return internalName(type.getName());
+        }
+        if (type.isPrimitive()) {
+            return String.valueOf(MethodType.methodType(type).toMethodDescriptorString().charAt(2));
+        }
+        return "L" + internalName(type.getName()) + ";";
+    }
+
+    private static String internalName(String className) {
+        return className.replace('.', '/');
+    }
+
+    private static Method findDefineHiddenClass() {
+        try {
+            Class<?> options = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            Class<?> optionArray = Array.newInstance(options, 0).getClass();
+            return MethodHandles.Lookup.class.getMethod("defineHiddenClass", byte[].class, boolean.class, optionArray);
+        } catch (ReflectiveOperationException e) {
+            // JDK 15以下
+            return null;
+        }
+    }
+
+    private static Method findDefineClass() {
+        try {
+            return MethodHandles.Lookup.class.getMethod("defineClass", byte[].class);
+        } catch (NoSuchMethodException e) {
+            // JDK 8
+            return null;
+        }
+    }
+
+    /**
+     * 常量池，相同的常量只写入一次
+     */
+    private static final class ConstantPool {
+        private static final int UTF8 = 1;
+        private static final int CLASS = 7;
+        private static final int METHOD_REF = 10;
+        private static final int NAME_AND_TYPE = 12;
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private int count = 1;
+
+        int utf8(String value) throws IOException {
+            Integer index = indexes.get("U" + value);
+            if (index == null) {
+                out.writeByte(UTF8);
+                out.writeUTF(value);
+                index = add("U" + value);
+            }
+            return index;
+        }
+
+        int classRef(String internalName) throws IOException {
+            Integer index = indexes.get("C" + internalName);
+            if (index == null) {
+                int name = utf8(internalName);
+                out.writeByte(CLASS);
+                out.writeShort(name);
+                index = add("C" + internalName);
+            }
+            return index;
+        }
+
+        int methodRef(String owner, String name, String descriptor) throws IOException {
+            String key = "M" + owner + "." + name + descriptor;
+            Integer index = indexes.get(key);
+            if (index == null) {
+                int ownerClass = classRef(owner);
+                int methodName = utf8(name);
+                int methodDescriptor = utf8(descriptor);
+                Integer nameAndType = indexes.get("N" + name + descriptor);
+                if (nameAndType == null) {
+                    out.writeByte(NAME_AND_TYPE);
+                    out.writeShort(methodName);
+                    out.writeShort(methodDescriptor);
+                    nameAndType = add("N" + name + descriptor);
+                }
+                out.writeByte(METHOD_REF);
+                out.writeShort(ownerClass);
+                out.writeShort(nameAndType);
+                index = add(key);
+            }
+            return index;
+        }
+
+        void writeTo(DataOutputStream target) throws IOException {
+            out.flush();
+            target.writeShort(count);
+            bytes.writeTo(target);
+        }
+
+        private int add(String key) {
+            int index = count++;
+            indexes.put(key, index);
+            return index;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.iakuil.toolkit;
+
+import java.beans.ConstructorProperties;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 类型对之间编译好的复制计划
+ *
+ * <p>目标类型有无参构造方法时，先实例化再由{@link PropertyCopier}复制属性；
+ * 否则视为不可变类型，按以下顺序选择创建方式，并编译为一个{@link MethodHandle}，复制时只调用一次：
+ * <ol>
+ *     <li>record的规范构造方法；</li>
+ *     <li>标注了{@link ConstructorProperties}的public构造方法；</li>
+ *     <li>静态{@code builder()}方法返回的Builder，如Lombok的{@code @Builder}，按属性同名的方法赋值后调用{@code build()}；</li>
+ *     <li>参数数量最多且带有参数名（使用{@code -parameters}编译）的public构造方法。</li>
+ * </ol>
+ * <p>与属性复制一致，只传递名称相同且类型完全一致的属性，缺少的参数按null或零值传入。
+ * <p>线程安全。
+ *
+ * @author Kai
+ */
+abstract class CopyPlan {
+    private static final MethodHandle ACCESSOR_GET;
+
+    static {
+        try {
+            ACCESSOR_GET = MethodHandles.lookup().findVirtual(BeanAccessor.class, "get",
+                MethodType.methodType(Object.class, Object.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * 复制为目标类型的新对象
+     *
+     * @param from 源对象
+     * @return 目标对象
+     */
+    abstract Object copy(Object from);
+
+    /**
+     * 编译复制计划
+     *
+     * @param from 源类型
+     * @param to   目标类型
+     * @return 复制计划
+     */
+    static CopyPlan compile(Class<?> from, Class<?> to) {
+        if (!AccessorBackends.isRecord(to)) {
+            Constructor<?> constructor = defaultConstructor(to);
+            if (constructor != null) {
+                return new MutablePlan(constructor, AccessorBackends.current().copier(from, to));
+            }
+        }
+
+        BeanAccessor source = BeanMapUtils.accessorOf(from);
+        MethodHandles.Lookup lookup = AccessorBackends.lookupFor(to);
+        try {
+            MethodHandle creator = AccessorBackends.isRecord(to)
+                ? constructorCreator(lookup, source, recordConstructor(to), recordNames(to))
+                : immutableCreator(lookup, source, to);
+            if (creator == null) {
+                throw new IllegalStateException("No constructor or builder found to create " + to.getName() + "!");
+            }
+            return new CreationPlan(creator);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Occurring an exception during copy plan compiling!", e);
+        }
+    }
+
+    private static MethodHandle immutableCreator(MethodHandles.Lookup lookup, BeanAccessor source, Class<?> to) throws IllegalAccessException {
+        for (Constructor<?> constructor : to.getConstructors()) {
+            ConstructorProperties properties = constructor.getAnnotation(ConstructorProperties.class);
+            if (properties != null && properties.value().length == constructor.getParameterCount()) {
+                return constructorCreator(lookup, source, constructor, properties.value());
+            }
+        }
+
+        MethodHandle builder = builderCreator(lookup, source, to);
+        if (builder != null) {
+            return builder;
+        }
+
+        Constructor<?> named = null;
+        for (Constructor<?> constructor : to.getConstructors()) {
+            Parameter[] parameters = constructor.getParameters();
+            if (parameters.length > 0 && parameters[0].isNamePresent()
+                && (named == null || parameters.length > named.getParameterCount())) {
+                named = constructor;
+            }
+        }
+        if (named == null) {
+            return null;
+        }
+        String[] names = new String[named.getParameterCount()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = named.getParameters()[i].getName();
+        }
+        return constructorCreator(lookup, source, named, names);
+    }
+
+    /**
+     * 构造方法的创建方式：{@code (Object from) -> new To(from.a, from.b, ...)}
+     */
+    private static MethodHandle constructorCreator(MethodHandles.Lookup lookup, BeanAccessor source,
+                                                   Constructor<?> constructor, String[] names) throws IllegalAccessException {
+        MethodHandle handle = lookup.unreflectConstructor(constructor);
+        handle = handle.asType(handle.type().generic());
+        Class<?>[] types = constructor.getParameterTypes();
+        MethodHandle[] values = new MethodHandle[types.length];
+        for (int i = 0; i < types.length; i++) {
+            values[i] = valueOf(source, names[i], types[i]);
+        }
+        handle = MethodHandles.filterArguments(handle, 0, values);
+        // 每个参数都从同一个源对象读取
+        return MethodHandles.permuteArguments(handle, MethodType.methodType(Object.class, Object.class), new int[types.length]);
+    }
+
+    /**
+     * Builder的创建方式：{@code (Object from) -> To.builder().a(from.a).b(from.b).build()}
+     */
+    private static MethodHandle builderCreator(MethodHandles.Lookup lookup, BeanAccessor source, Class<?> to) throws IllegalAccessException {
+        Method factory = findMethod(to, "builder");
+        if (factory == null || !Modifier.isStatic(factory.getModifiers())) {
+            return null;
+        }
+        Class<?> builderClass = factory.getReturnType();
+        Method build = findMethod(builderClass, "build");
+        if (build == null || !to.isAssignableFrom(build.getReturnType())) {
+            return null;
+        }
+
+        Map<String, Method> setters = new HashMap<>();
+        Set<String> overloaded = new HashSet<>();
+        for (Method method : builderClass.getMethods()) {
+            if (method.getParameterCount() == 1 && builderClass.isAssignableFrom(method.getReturnType())
+                && !Modifier.isStatic(method.getModifiers()) && setters.put(method.getName(), method) != null) {
+                overloaded.add(method.getName());
+            }
+        }
+        // 重载的方法无法确定类型，忽略
+        setters.keySet().removeAll(overloaded);
+
+        MethodHandle handle = MethodHandles.dropArguments(
+            lookup.unreflect(factory).asType(MethodType.methodType(Object.class)), 0, Object.class);
+        for (int i = 0; i < source.size(); i++) {
+            Method setter = setters.get(source.getName(i));
+            if (setter == null || !source.isReadable(i) || setter.getParameterTypes()[0] != source.getType(i)) {
+                continue;
+            }
+            MethodHandle step = lookup.unreflect(setter).asType(MethodType.methodType(Object.class, Object.class, Object.class));
+            step = MethodHandles.filterArguments(step, 1, valueOf(source, i));
+            handle = MethodHandles.foldArguments(step, handle);
+        }
+        return MethodHandles.filterReturnValue(handle,
+            lookup.unreflect(build).asType(MethodType.methodType(Object.class, Object.class)));
+    }
+
+    private static MethodHandle valueOf(BeanAccessor source, String name, Class<?> type) {
+        int index = source.indexOf(name);
+        if (index >= 0 && source.isReadable(index) && source.getType(index) == type) {
+            return valueOf(source, index);
+        }
+        return MethodHandles.dropArguments(MethodHandles.constant(Object.class, AccessorBackends.zeroOf(type)), 0, Object.class);
+    }
+
+    private static MethodHandle valueOf(BeanAccessor source, int index) {
+        return MethodHandles.insertArguments(ACCESSOR_GET.bindTo(source), 1, index);
+    }
+
+    private static Constructor<?> recordConstructor(Class<?> to) {
+        Method[] accessors = AccessorBackends.recordAccessors(to);
+        Class<?>[] types = new Class<?>[accessors.length];
+        for (int i = 0; i < accessors.length; i++) {
+            types[i] = accessors[i].getReturnType();
+        }
+        try {
+            return to.getDeclaredConstructor(types);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("No canonical constructor found in " + to.getName() + "!", e);
+        }
+    }
+
+    private static String[] recordNames(Class<?> to) {
+        Method[] accessors = AccessorBackends.recordAccessors(to);
+        String[] names = new String[accessors.length];
+        for (int i = 0; i < accessors.length; i++) {
+            names[i] = accessors[i].getName();
+        }
+        return names;
+    }
+
+    private static Constructor<?> defaultConstructor(Class<?> clazz) {
+        try {
+            return clazz.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Method findMethod(Class<?> clazz, String name) {
+        try {
+            return clazz.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static final class MutablePlan extends CopyPlan {
+        private final Constructor<?> constructor;
+        private final PropertyCopier copier;
+
+        MutablePlan(Constructor<?> constructor, PropertyCopier copier) {
+            this.constructor = constructor;
+            this.copier = copier;
+        }
+
+        @Override
+        Object copy(Object from) {
+            Object to;
+            try {
+                to = constructor.newInstance();
+            } catch (Exception e) {
+                throw new IllegalStateException("Occurring an exception during object instancing!", e);
+            }
+            copier.copy(from, to);
+            return to;
+        }
+    }
+
+    private static final class CreationPlan extends CopyPlan {
+        private final MethodHandle creator;
+
+        CreationPlan(MethodHandle creator) {
+            this.creator = creator;
+        }
+
+        @Override
+        Object copy(Object from) {
+            try {
+                return (Object) creator.invokeExact(from);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Occurring an exception during object creating!", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.iakuil.toolkit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * CSV/TSV流式记录读取器
+ *
+ * <p>第一行是表头，按列名匹配javabean的可写属性，未知的列被忽略；之后逐行绑定为javabean，内存占用与文件大小无关。
+ * <p>支持双引号包围的单元格、转义的双引号以及单元格内的换行，行分隔符可以是CRLF或LF，空行被跳过；只有一列时，表头之后的空行是该列为null的记录。
+ * 空单元格不赋值，属性保持默认值；{@code ""}读取为空字符串。
+ * <p>javabean需要有无参构造方法。非线程安全，使用完毕后需要关闭。
+ *
+ * @param <T> javabean类型
+ * @author Kai
+ */
+public final class CsvRecordReader<T> implements Iterator<T>, Closeable {
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private final CsvSchema schema;
+    private final char delimiter;
+    private final char[] buffer = new char[8192];
+    private final List<String> cells = new ArrayList<>();
+    private final StringBuilder cell = new StringBuilder();
+
+    private int position;
+    private int limit;
+    private int pushback = NONE;
+    private int[] bound;
+    private long row;
+    private T next;
+    private boolean done;
+
+    CsvRecordReader(Reader reader, CsvSchema schema, char delimiter) {
+        this.reader = reader;
+        this.schema = schema;
+        this.delimiter = delimiter;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            next = advance();
+        }
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        done = true;
+        reader.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private T advance() {
+        try {
+            if (bound == null) {
+                if (!readRow(false)) {
+                    done = true;
+                    return null;
+                }
+                bound = schema.bind(cells);
+            }
+            // 只有一列时写入端把null写成空行，此时空行是一条记录
+            if (!readRow(bound.length == 1)) {
+                done = true;
+                return null;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during csv parsing!", e);
+        }
+
+        BeanAccessor accessor = schema.getAccessor();
+        Object bean = accessor.newInstance();
+        int size = Math.min(cells.size(), bound.length);
+        for (int i = 0; i < size; i++) {
+            String text = cells.get(i);
+            if (bound[i] < 0 || text == null) {
+                continue;
+            }
+            try {
+                accessor.set(bean, bound[i], schema.parse(bound[i], text));
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("Occurring an exception during csv parsing at row " + row
+                    + ", column " + (i + 1) + "!", e);
+            }
+        }
+        return (T) bean;
+    }
+
+    /**
+     * 读取一行到{@link #cells}，未加引号的空单元格为null，表头是第1行
+     *
+     * @param blankIsRow 空行是否作为只含一个null单元格的行，否则跳过空行
+     * @return 到达输入末尾时返回false
+     */
+    private boolean readRow(boolean blankIsRow) throws IOException {
+        cells.clear();
+        cell.setLength(0);
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        boolean started = false;
+        int c;
+        while ((c = read()) != -1) {
+            if (quoted) {
+                if (c != '"') {
+                    cell.append((char) c);
+                } else if ((c = read()) == '"') {
+                    cell.append('"');
+                } else {
+                    quoted = false;
+                    unread(c);
+                }
+                continue;
+            }
+
+            if (c == '\r' || c == '\n') {
+                if (c == '\r' && (c = read()) != '\n') {
+                    unread(c);
+                }
+                if (started || blankIsRow) {
+                    started = true;
+                    break;
+                }
+                // 空行
+                continue;
+            }
+            started = true;
+            if (c == delimiter) {
+                endCell(wasQuoted);
+                wasQuoted = false;
+            } else if (c == '"' && cell.length() == 0 && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else {
+                cell.append((char) c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalStateException("Unclosed quote in csv at row " + (row + 1) + "!");
+        }
+        if (!started) {
+            return false;
+        }
+        endCell(wasQuoted);
+        row++;
+        return true;
+    }
+
+    private void endCell(boolean wasQuoted) {
+        cells.add(cell.length() == 0 && !wasQuoted ? null : cell.toString());
+        cell.setLength(0);
+    }
+
+    private int read() throws IOException {
+        if (pushback != NONE) {
+            int c = pushback;
+            pushback = NONE;
+            return c;
+        }
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    private void unread(int c) {
+        pushback = c;
+    }
+}
@@ -0,0 +1,130 @@
+package com.iakuil.toolkit;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CSV/TSV流式记录写入器
+ *
+ * <p>创建时写入表头，之后每个javabean直接按列写入缓冲的输出流，不生成中间Map，内存占用与记录数量无关。
+ * <p>按RFC 4180转义：包含分隔符、双引号或换行的单元格加双引号，其中的双引号写两次；
+ * null写为空单元格，空字符串写为{@code ""}，读取时可以区分。
+ * <p>关闭时刷新缓冲区，但不会关闭底层输出流。
+ * <p>非线程安全。
+ *
+ * @param <T> javabean类型
+ * @author Kai
+ */
+public final class CsvRecordWriter<T> implements Closeable, Flushable {
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    private final Writer writer;
+    private final CsvSchema schema;
+    private final char delimiter;
+
+    private long count;
+    private boolean closed;
+
+    CsvRecordWriter(Writer writer, CsvSchema schema, char delimiter) {
+        this.writer = writer;
+        this.schema = schema;
+        this.delimiter = delimiter;
+        try {
+            String[] columns = schema.getColumns();
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    writer.write(delimiter);
+                }
+                writeCell(columns[i]);
+            }
+            writer.write(LINE_SEPARATOR);
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during csv writing!", e);
+        }
+    }
+
+    /**
+     * 写入一条记录
+     *
+     * @param record javabean对象，null将被忽略
+     * @return 当前写入器
+     */
+    public CsvRecordWriter<T> write(T record) {
+        if (closed) {
+            throw new IllegalStateException("Csv record writer has been closed!");
+        }
+        if (record == null) {
+            return this;
+        }
+
+        try {
+            int columns = schema.getColumns().length;
+            for (int i = 0; i < columns; i++) {
+                if (i > 0) {
+                    writer.write(delimiter);
+                }
+                String cell = schema.format(record, i);
+                if (cell != null) {
+                    writeCell(cell);
+                }
+            }
+            writer.write(LINE_SEPARATOR);
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during csv writing!", e);
+        }
+        count++;
+        return this;
+    }
+
+    /**
+     * 已写入的记录数，不含表头
+     *
+     * @return 记录数
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        writer.flush();
+    }
+
+    private void writeCell(String cell) throws IOException {
+        if (!cell.isEmpty() && !needsQuote(cell)) {
+            writer.write(cell);
+            return;
+        }
+        writer.write('"');
+        int from = 0;
+        for (int i = 0; i < cell.length(); i++) {
+            if (cell.charAt(i) == '"') {
+                writer.write(cell, from, i + 1 - from);
+                from = i;
+            }
+        }
+        writer.write(cell, from, cell.length() - from);
+        writer.write('"');
+    }
+
+    private boolean needsQuote(String cell) {
+        for (int i = 0; i < cell.length(); i++) {
+            char c = cell.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,190 @@
+package com.iakuil.toolkit;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * javabean的表格列定义
+ *
+ * <p>由{@link BeanAccessor}的属性元数据生成，每个类型只生成一次：可读属性按名称排序作为列，
+ * 读取时按表头匹配可写属性，单元格与属性值之间的转换方式也在此时确定。
+ * <p>字符串、数字、布尔值、字符、枚举和{@code java.time}类型按文本读写，其他类型按JSON读写。
+ * <p>线程安全。
+ *
+ * @author Kai
+ */
+final class CsvSchema {
+    private final BeanAccessor accessor;
+    private final String[] columns;
+    private final int[] indexes;
+    private final Function<String, Object>[] parsers;
+
+    @SuppressWarnings("unchecked")
+    CsvSchema(BeanAccessor accessor) {
+        this.accessor = accessor;
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < accessor.size(); i++) {
+            if (accessor.isReadable(i) && accessor.getType(i) != Class.class) {
+                names.add(accessor.getName(i));
+            }
+        }
+        this.columns = names.stream().sorted().toArray(String[]::new);
+        this.indexes = Arrays.stream(columns).mapToInt(accessor::indexOf).toArray();
+        this.parsers = new Function[accessor.size()];
+        for (int i = 0; i < accessor.size(); i++) {
+            if (accessor.isWritable(i)) {
+                parsers[i] = parser(accessor.getType(i));
+            }
+        }
+    }
+
+    BeanAccessor getAccessor() {
+        return accessor;
+    }
+
+    /**
+     * 写入时的列名
+     *
+     * @return 列名，调用方不能修改
+     */
+    String[] getColumns() {
+        return columns;
+    }
+
+    /**
+     * 读取第{@code column}列的单元格
+     *
+     * @param bean   javabean对象
+     * @param column 列序号
+     * @return 单元格文本，null值返回null
+     */
+    String format(Object bean, int column) {
+        Object value = accessor.get(bean, indexes[column]);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+            || value instanceof Character || value instanceof TemporalAccessor) {
+            return value.toString();
+        }
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        }
+        return JsonUtils.bean2Json(value);
+    }
+
+    /**
+     * 按表头确定每列对应的属性
+     *
+     * @param header 表头
+     * @return 属性下标，不存在或不可写的列为-1
+     */
+    int[] bind(List<String> header) {
+        int[] bound = new int[header.size()];
+        for (int i = 0; i < bound.length; i++) {
+            String name = header.get(i);
+            int index = name == null ? -1 : accessor.indexOf(name.trim());
+            bound[i] = index >= 0 && parsers[index] != null ? index : -1;
+        }
+        return bound;
+    }
+
+    /**
+     * 将单元格转换为属性值
+     *
+     * @param index 属性下标
+     * @param text  单元格文本
+     * @return 属性值
+     */
+    Object parse(int index, String text) {
+        return parsers[index].apply(text);
+    }
+
+    private static Function<String, Object> parser(Class<?> type) {
+        if (type == String.class || type == CharSequence.class || type == Object.class) {
+            return text -> text;
+        }
+        if (type == int.class || type == Integer.class) {
+            return text -> Integer.valueOf(text.trim());
+        }
+        if (type == long.class || type == Long.class) {
+            return text -> Long.valueOf(text.trim());
+        }
+        if (type == double.class || type == Double.class) {
+            return text -> Double.valueOf(text.trim());
+        }
+        if (type == float.class || type == Float.class) {
+            return text -> Float.valueOf(text.trim());
+        }
+        if (type == short.class || type == Short.class) {
+            return text -> Short.valueOf(text.trim());
+        }
+        if (type == byte.class || type == Byte.class) {
+            return text -> Byte.valueOf(text.trim());
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return text -> Boolean.valueOf(text.trim());
+        }
+        if (type == char.class || type == Character.class) {
+            return text -> {
+                if (text.length() != 1) {
+                    throw new IllegalArgumentException("Expecting a single character but got: " + text);
+                }
+                return text.charAt(0);
+            };
+        }
+        if (type == BigDecimal.class) {
+            return text -> new BigDecimal(text.trim());
+        }
+        if (type == BigInteger.class) {
+            return text -> new BigInteger(text.trim());
+        }
+        if (type.isEnum()) {
+            return text -> enumOf(type, text.trim());
+        }
+
+        Method parse = parseMethod(type);
+        if (parse != null) {
+            return text -> {
+                try {
+                    return parse.invoke(null, text.trim());
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalArgumentException("Unparseable " + type.getSimpleName() + ": " + text, e);
+                }
+            };
+        }
+        return text -> {
+            try {
+                return JsonUtils.mapper().readValue(text, type);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Unparseable " + type.getSimpleName() + ": " + text, e);
+            }
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object enumOf(Class<?> type, String name) {
+        return Enum.valueOf((Class) type, name);
+    }
+
+    /**
+     * {@code java.time}风格的静态{@code parse(CharSequence)}方法
+     */
+    private static Method parseMethod(Class<?> type) {
+        try {
+            Method method = type.getMethod("parse", CharSequence.class);
+            return Modifier.isStatic(method.getModifiers()) && type.isAssignableFrom(method.getReturnType()) ? method : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
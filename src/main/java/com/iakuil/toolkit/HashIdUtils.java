@@ -3,16 +3,32 @@ package com.iakuil.toolkit;
 import org.apache.commons.lang3.ObjectUtils;
 import org.hashids.Hashids;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Hashids工具类
  *
+ * <p>Hashids实例按盐值和长度缓存，避免每次调用重新打乱字母表。缓存最多保存256个盐值，
+ * 超出后的盐值每次调用临时创建编解码器，结果不变但速度较慢，因此盐值应来自固定的集合，而不是按租户或请求生成。
+ * <p>另提供基于Feistel置换的定长混淆模式{@link #obfuscate(long, String)}，输出固定11位，编解码只需数十纳秒，
+ * 与Hashids的结果互不兼容。
+ *
  * @author Kai
  */
 public class HashIdUtils {
     private static final String DEFAULT_SALT = "itsADemo4Hash";
     private static final int DEFAULT_HASH_LENGTH = 8;
+    private static final int MAX_CACHED_SALTS = 256;
+    private static final int MAX_CACHED_LENGTHS = 32;
+    private static final Map<String, Map<Integer, Hashids>> CODEC_CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, FeistelCodec> FEISTEL_CACHE = new ConcurrentHashMap<>();
+
+    static {
+        Metrics.registerGauge("hashid.codec.size", () -> CODEC_CACHE.values().stream().mapToLong(Map::size).sum());
+        Metrics.registerGauge("hashid.feistel.size", FEISTEL_CACHE::size);
+    }
 
     private HashIdUtils() {
     }
@@ -48,8 +64,10 @@ public class HashIdUtils {
      */
     public static String encrypt(Long plainid, String salt, int length) {
         Objects.requireNonNull(plainid, "Id must not be empty!");
-        Hashids hashids = new Hashids(ObjectUtils.defaultIfNull(salt, DEFAULT_SALT), length);
-        return hashids.encode(plainid);
+        long start = Metrics.start();
+        String hash = getCodec(salt, length).encode(plainid);
+        Metrics.stop("hashid.encode", start);
+        return hash;
     }
 
     /**
@@ -71,8 +89,89 @@ public class HashIdUtils {
      */
     public static Long decrypt(String ciphertext, String salt) {
         Objects.requireNonNull(ciphertext, "Text must not be empty!");
-        Hashids hashids = new Hashids(ObjectUtils.defaultIfNull(salt, DEFAULT_SALT), DEFAULT_HASH_LENGTH);
-        long[] decoded = hashids.decode(ciphertext);
+        long start = Metrics.start();
+        long[] decoded = getCodec(salt, DEFAULT_HASH_LENGTH).decode(ciphertext);
+        Metrics.stop("hashid.decode", start);
         return decoded.length > 0 ? decoded[0] : null;
     }
+
+    /**
+     * Returns a fixed-width obfuscated text of the number.
+     *
+     * @param plainid the number to obfuscate
+     * @return an 11-character base62 text
+     */
+    public static String obfuscate(long plainid) {
+        return obfuscate(plainid, null);
+    }
+
+    /**
+     * Returns a fixed-width obfuscated text of the number.
+     *
+     * @param plainid the number to obfuscate
+     * @param salt    the salt of obfuscation
+     * @return an 11-character base62 text
+     */
+    public static String obfuscate(long plainid, String salt) {
+        long start = Metrics.start();
+        String text = getFeistelCodec(salt).encode(plainid);
+        Metrics.stop("hashid.obfuscate", start);
+        return text;
+    }
+
+    /**
+     * Returns a deobfuscated number
+     *
+     * @param text the text to deobfuscate
+     * @return a deobfuscated number, or null if the text is malformed
+     */
+    public static Long deobfuscate(String text) {
+        return deobfuscate(text, null);
+    }
+
+    /**
+     * Returns a deobfuscated number
+     *
+     * @param text the text to deobfuscate
+     * @param salt the salt of obfuscation
+     * @return a deobfuscated number, or null if the text is malformed
+     */
+    public static Long deobfuscate(String text, String salt) {
+        Objects.requireNonNull(text, "Text must not be empty!");
+        long start = Metrics.start();
+        Long plainid = getFeistelCodec(salt).decode(text);
+        Metrics.stop("hashid.deobfuscate", start);
+        return plainid;
+    }
+
+    private static FeistelCodec getFeistelCodec(String salt) {
+        String key = ObjectUtils.defaultIfNull(salt, DEFAULT_SALT);
+        FeistelCodec codec = FEISTEL_CACHE.get(key);
+        if (codec == null) {
+            codec = FEISTEL_CACHE.size() < MAX_CACHED_SALTS
+                ? FEISTEL_CACHE.computeIfAbsent(key, FeistelCodec::new) : new FeistelCodec(key);
+        }
+        return codec;
+    }
+
+    private static Hashids getCodec(String salt, int length) {
+        String key = ObjectUtils.defaultIfNull(salt, DEFAULT_SALT);
+        Map<Integer, Hashids> codecs = CODEC_CACHE.get(key);
+        if (codecs == null) {
+            if (CODEC_CACHE.size() >= MAX_CACHED_SALTS) {
+                Metrics.increment("hashid.codec.miss");
+                return new Hashids(key, length);
+            }
+            codecs = CODEC_CACHE.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+        }
+        Hashids codec = codecs.get(length);
+        if (codec == null) {
+            Metrics.increment("hashid.codec.miss");
+            codec = codecs.size() < MAX_CACHED_LENGTHS
+                ? codecs.computeIfAbsent(length, len -> new Hashids(key, len)) : new Hashids(key, length);
+        } else {
+            Metrics.increment("hashid.codec.hit");
+        }
+        return codec;
+    }
 }
@@ -0,0 +1,220 @@
+package com.iakuil.toolkit;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * 基于Jackson非阻塞解析器的增量JSON解码器
+ *
+ * <p>按到达顺序投喂任意切分的字节块，每解析完一个完整的值就通过回调交付，适用于Netty等事件循环，
+ * 解析与网络I/O重叠进行，不需要先把整个请求体聚合为String。
+ * <p>默认模式下输入可以是一个或多个以空白分隔的顶层值（如NDJSON）；展开数组模式下输入必须是一个顶层数组，
+ * 逐个交付数组元素，只缓存当前元素的token，内存占用与数组长度无关。
+ * <p>非线程安全，同一连接上的字节块需要在同一线程中依次投喂，使用完毕后需要关闭。
+ *
+ * @param <T> javabean类型
+ * @author Kai
+ */
+public final class JsonAsyncDecoder<T> implements Closeable {
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final ObjectReader reader;
+    private final boolean unwrapArray;
+    private final Consumer<? super T> consumer;
+
+    private TokenBuffer buffer;
+    private byte[] scratch;
+    private int depth;
+    private boolean inArray;
+    private boolean arrayClosed;
+    private long count;
+
+    JsonAsyncDecoder(JsonParser parser, ObjectReader reader, boolean unwrapArray, Consumer<? super T> consumer) {
+        this.parser = parser;
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.reader = reader;
+        this.unwrapArray = unwrapArray;
+        this.consumer = consumer;
+    }
+
+    /**
+     * 投喂字节块
+     *
+     * @param data 字节数组
+     * @return 本次交付的值数量
+     */
+    public int feed(byte[] data) {
+        return feed(data, 0, data.length);
+    }
+
+    /**
+     * 投喂字节块，返回前已处理完全部字节，调用方可以立即复用该数组
+     *
+     * @param data   字节数组
+     * @param offset 起始位置
+     * @param length 长度
+     * @return 本次交付的值数量
+     */
+    public int feed(byte[] data, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        try {
+            feeder.feedInput(data, offset, offset + length);
+            return drain();
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during json parsing!", e);
+        }
+    }
+
+    /**
+     * 投喂字节块，读取position到limit之间的全部字节
+     *
+     * <p>堆内ByteBuffer直接使用底层数组，直接内存的ByteBuffer复制到复用的临时数组中。
+     *
+     * @param data 字节块
+     * @return 本次交付的值数量
+     */
+    public int feed(ByteBuffer data) {
+        int length = data.remaining();
+        if (data.hasArray()) {
+            int count = feed(data.array(), data.arrayOffset() + data.position(), length);
+            // 通过Buffer调用，避免在JDK 9及以上编译后链接到协变的ByteBuffer.position(int)
+            ((Buffer) data).position(data.limit());
+            return count;
+        }
+        if (scratch == null || scratch.length < length) {
+            scratch = new byte[Math.max(length, 8192)];
+        }
+        data.get(scratch, 0, length);
+        return feed(scratch, 0, length);
+    }
+
+    /**
+     * 标记输入结束，输入在值的中间被截断时抛出异常
+     *
+     * @return 本次交付的值数量，例如末尾没有分隔符的数字
+     */
+    public int end() {
+        int delivered;
+        try {
+            feeder.endOfInput();
+            delivered = drain();
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during json parsing!", e);
+        }
+        if (buffer != null || (inArray && !arrayClosed)) {
+            throw new IllegalStateException("Unexpected end of json input!");
+        }
+        return delivered;
+    }
+
+    /**
+     * 已交付的值数量
+     *
+     * @return 数量
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+        parser.close();
+    }
+
+    private int drain() throws IOException {
+        int delivered = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (unwrapArray && depth == 0) {
+                if (!inArray) {
+                    if (token != JsonToken.START_ARRAY || arrayClosed) {
+                        throw new IllegalStateException("Expecting a single top-level json array but got " + token + "!");
+                    }
+                    inArray = true;
+                    continue;
+                }
+                if (token == JsonToken.END_ARRAY) {
+                    inArray = false;
+                    arrayClosed = true;
+                    continue;
+                }
+            }
+
+            if (buffer == null) {
+                buffer = new TokenBuffer(parser);
+            }
+            if (token == JsonToken.VALUE_NUMBER_FLOAT && !parser.isNaN()) {
+                // 异步解析器把小数报告为double，直接复制会丢失BigDecimal的精度
+                buffer.writeNumber(parser.getDecimalValue());
+            } else {
+                buffer.copyCurrentEvent(parser);
+            }
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+            if (depth == 0) {
+                deliver();
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+
+    private void deliver() throws IOException {
+        long start = Metrics.start();
+        T value;
+        try (JsonParser tokens = new DecimalParser(buffer.asParser(parser.getCodec()))) {
+            value = reader.readValue(tokens);
+        } finally {
+            buffer = null;
+        }
+        Metrics.stop("json.async.read", start);
+        count++;
+        consumer.accept(value);
+    }
+
+    /**
+     * 缓冲中的小数按BigDecimal保存，读出时仍报告为double，与阻塞读取时的类型一致
+     */
+    private static final class DecimalParser extends JsonParserDelegate {
+
+        DecimalParser(JsonParser tokens) {
+            super(tokens);
+        }
+
+        @Override
+        public NumberType getNumberType() throws IOException {
+            NumberType type = super.getNumberType();
+            return isBufferedDecimal(type) ? NumberType.DOUBLE : type;
+        }
+
+        @Override
+        public Number getNumberValue() throws IOException {
+            return isBufferedDecimal(super.getNumberType()) ? Double.valueOf(getDoubleValue()) : super.getNumberValue();
+        }
+
+        @Override
+        public Number getNumberValueExact() throws IOException {
+            return getNumberValue();
+        }
+
+        private boolean isBufferedDecimal(NumberType type) {
+            return type == NumberType.BIG_DECIMAL && hasToken(JsonToken.VALUE_NUMBER_FLOAT);
+        }
+    }
+}
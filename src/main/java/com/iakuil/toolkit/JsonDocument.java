@@ -0,0 +1,252 @@
+package com.iakuil.toolkit;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 只解析一次、可反复查询的JSON文档
+ *
+ * <p>形如{@code $.items[?(@.sku == 'X')]}或{@code $.items[?(@.sku == 'X')].price}的等值过滤，
+ * 首次查询时为该数组字段建立哈希索引，之后相同数组和字段的查询直接按值查找，不再线性扫描。
+ * 数组路径必须是确定路径，比较值可以是字符串、数字或布尔值；其他表达式按普通JSONPath求值。
+ * JSONPath在字符串和数字之间做隐式转换，字段值中同时存在与比较值不同类型的字符串或数字时，同样按普通JSONPath求值。
+ * <p>通过本类的修改方法修改文档时清空全部索引；直接修改读出的对象不会使索引失效。
+ * <p>查询线程安全，修改需要外部同步。
+ *
+ * @author Kai
+ */
+public final class JsonDocument {
+    private static final String IDENTIFIER = "[A-Za-z_$][\\w$]*";
+    private static final Pattern EQUALITY_FILTER = Pattern.compile(
+        "^(\\$[^?\\[]*(?:\\[[^?\\]]*][^?\\[]*)*)"
+            + "\\[\\?\\(@\\.(" + IDENTIFIER + "(?:\\." + IDENTIFIER + ")*)\\s*==\\s*"
+            + "('[^']*'|\"[^\"]*\"|-?\\d+(?:\\.\\d+)?|true|false)\\)]"
+            + "((?:\\." + IDENTIFIER + ")*)$");
+    private static final Object MISSING = new Object();
+
+    private final DocumentContext context;
+    private final Configuration config;
+    private final Map<String, FieldIndex> indexes = new ConcurrentHashMap<>();
+
+    JsonDocument(DocumentContext context) {
+        this.context = context;
+        this.config = context.configuration();
+    }
+
+    /**
+     * 读取节点
+     *
+     * @param path json path
+     * @return 节点值，路径不存在时为null
+     */
+    public Object read(String path) {
+        Object indexed = readIndexed(path);
+        return indexed != MISSING ? indexed : context.read(path);
+    }
+
+    /**
+     * 读取节点并转换为指定类型
+     *
+     * @param <T>   期望类型
+     * @param path  json path
+     * @param clazz 期望类型
+     * @return 指定类型的节点值
+     */
+    public <T> T read(String path, Class<T> clazz) {
+        Object indexed = readIndexed(path);
+        if (indexed == MISSING) {
+            return context.read(path, clazz);
+        }
+        return indexed == null ? null : config.mappingProvider().map(indexed, clazz, config);
+    }
+
+    /**
+     * 为JSON节点赋值
+     *
+     * @param path  json path
+     * @param key   json key
+     * @param value json value
+     * @return 当前文档
+     */
+    public JsonDocument put(String path, String key, Object value) {
+        context.put(path, key, value);
+        invalidate();
+        return this;
+    }
+
+    /**
+     * 修改JSON节点的值
+     *
+     * @param path  json path
+     * @param value json value
+     * @return 当前文档
+     */
+    public JsonDocument set(String path, Object value) {
+        context.set(path, value);
+        invalidate();
+        return this;
+    }
+
+    /**
+     * 为JSON数组追加元素
+     *
+     * @param path json path
+     * @param obj  json value
+     * @return 当前文档
+     */
+    public JsonDocument add(String path, Object obj) {
+        context.add(path, obj);
+        invalidate();
+        return this;
+    }
+
+    /**
+     * 删除JSON节点
+     *
+     * @param path json path
+     * @return 当前文档
+     */
+    public JsonDocument del(String path) {
+        context.delete(path);
+        invalidate();
+        return this;
+    }
+
+    /**
+     * 已建立的索引数量
+     *
+     * @return 索引数量
+     */
+    public int getIndexCount() {
+        return indexes.size();
+    }
+
+    /**
+     * 输出为JSON
+     *
+     * @return JSON数据
+     */
+    public String jsonString() {
+        return context.jsonString();
+    }
+
+    private void invalidate() {
+        indexes.clear();
+    }
+
+    /**
+     * 按索引求值
+     *
+     * @return 求值结果，不适用索引时返回{@link #MISSING}
+     */
+    private Object readIndexed(String path) {
+        Matcher matcher = EQUALITY_FILTER.matcher(path.trim());
+        if (!matcher.matches()) {
+            return MISSING;
+        }
+        String arrayPath = matcher.group(1);
+        String[] field = matcher.group(2).split("\\.");
+        Object expected = literal(matcher.group(3));
+        String rest = matcher.group(4);
+        if (!JsonPath.compile(arrayPath).isDefinite()) {
+            return MISSING;
+        }
+
+        String key = arrayPath + "\u0000" + matcher.group(2);
+        FieldIndex index = indexes.get(key);
+        if (index == null) {
+            Object array = context.read(arrayPath);
+            if (!(array instanceof List)) {
+                return MISSING;
+            }
+            Metrics.increment("jsonpath.index.build");
+            index = indexes.computeIfAbsent(key, k -> buildIndex((List<?>) array, field));
+        } else {
+            Metrics.increment("jsonpath.index.hit");
+        }
+
+        if ((expected instanceof String && index.numbers) || (expected instanceof BigDecimal && index.strings)) {
+            return MISSING;
+        }
+        List<Object> matches = index.values.getOrDefault(expected, Collections.emptyList());
+        List<Object> result = new ArrayList<>(matches.size());
+        if (rest.isEmpty()) {
+            result.addAll(matches);
+            return result;
+        }
+        String[] properties = rest.substring(1).split("\\.");
+        for (Object element : matches) {
+            Object value = element;
+            for (int i = 0; i < properties.length && value != MISSING; i++) {
+                if (!(value instanceof Map)) {
+                    value = MISSING;
+                } else if (((Map<?, ?>) value).containsKey(properties[i])) {
+                    value = ((Map<?, ?>) value).get(properties[i]);
+                } else {
+                    // 与DEFAULT_PATH_LEAF_TO_NULL一致，只有最后一级缺失时补null
+                    value = i == properties.length - 1 ? null : MISSING;
+                }
+            }
+            if (value != MISSING) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    private static FieldIndex buildIndex(List<?> array, String[] field) {
+        FieldIndex index = new FieldIndex();
+        for (Object element : array) {
+            Object value = element;
+            for (int i = 0; i < field.length && value != null; i++) {
+                // 路径中途遇到非对象的值时该字段不存在，不能把它当作字段值
+                value = value instanceof Map ? ((Map<?, ?>) value).get(field[i]) : null;
+            }
+            if (value instanceof String) {
+                index.strings = true;
+            } else if (value instanceof Number) {
+                index.numbers = true;
+                value = normalize(value.toString());
+            } else if (!(value instanceof Boolean)) {
+                continue;
+            }
+            index.values.computeIfAbsent(value, k -> new ArrayList<>()).add(element);
+        }
+        return index;
+    }
+
+    private static Object literal(String literal) {
+        char first = literal.charAt(0);
+        if (first == '\'' || first == '"') {
+            return literal.substring(1, literal.length() - 1);
+        }
+        if ("true".equals(literal) || "false".equals(literal)) {
+            return Boolean.valueOf(literal);
+        }
+        return normalize(literal);
+    }
+
+    /**
+     * 数字统一按数值比较，1与1.0相等
+     */
+    private static BigDecimal normalize(String number) {
+        BigDecimal value = new BigDecimal(number);
+        return value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+    }
+
+    /**
+     * 数组字段的值索引，记录出现过的值类型，用于判断能否按值直接查找
+     */
+    private static final class FieldIndex {
+        private final Map<Object, List<Object>> values = new HashMap<>();
+        private boolean strings;
+        private boolean numbers;
+    }
+}
@@ -0,0 +1,262 @@
+package com.iakuil.toolkit;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+
+/**
+ * 多文档批量JSONPath求值器
+ *
+ * <p>创建时预编译全部路径，每个文档只解析一次，在解析结果上依次求值所有路径。
+ * 文档按块分发到ForkJoinPool并行处理，结果按文档原有顺序以列存储，每个路径一列。
+ * <p>文档可以是String或UTF-8编码的byte[]；无法解析的文档整行为null并计入失败数。
+ * 路径不存在时该值为null，与{@link JsonPathUtils}的读取方法一致。
+ * <p>通过{@link JsonPathUtils#batch(String...)}创建，线程安全。
+ *
+ * @author Kai
+ */
+public final class JsonPathBatch {
+    private static final int CHUNK_SIZE = 256;
+
+    private final String[] paths;
+    private final JsonPath[] compiled;
+    private final Configuration config;
+    private final ObjectReader reader;
+
+    JsonPathBatch(Configuration config, String... paths) {
+        this.paths = paths.clone();
+        this.compiled = new JsonPath[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            compiled[i] = JsonPath.compile(paths[i]);
+        }
+        this.config = config;
+        // 与JsonPathUtils使用同一个Jackson Mapper解析，byte[]直接交给Jackson，不经过字符解码
+        this.reader = config.jsonProvider() instanceof JacksonJsonProvider
+            ? ((JacksonJsonProvider) config.jsonProvider()).getObjectMapper().readerFor(Object.class)
+            : null;
+    }
+
+    /**
+     * 参与求值的路径
+     *
+     * @return 路径列表
+     */
+    public List<String> getPaths() {
+        return Collections.unmodifiableList(Arrays.asList(paths));
+    }
+
+    /**
+     * 使用公共ForkJoinPool求值
+     *
+     * @param documents 文档Stream，元素为String或byte[]
+     * @return 求值结果
+     */
+    public Result evaluate(Stream<?> documents) {
+        return evaluate(documents.iterator(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 使用公共ForkJoinPool求值
+     *
+     * @param documents 文档迭代器，元素为String或byte[]
+     * @return 求值结果
+     */
+    public Result evaluate(Iterator<?> documents) {
+        return evaluate(documents, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 使用指定的ForkJoinPool求值
+     *
+     * <p>调用线程顺序读取文档并分块提交，同时处理中的块数不超过并行度的4倍，读取速度不会把全部文档堆积在内存中。
+     *
+     * @param documents 文档迭代器，元素为String或byte[]
+     * @param pool      线程池
+     * @return 求值结果
+     */
+    public Result evaluate(Iterator<?> documents, ForkJoinPool pool) {
+        Objects.requireNonNull(documents, "Documents must not be null!");
+        Objects.requireNonNull(pool, "Pool must not be null!");
+        long start = Metrics.start();
+
+        int maxInFlight = pool.getParallelism() * 4;
+        Deque<ForkJoinTask<Chunk>> inFlight = new ArrayDeque<>();
+        List<Chunk> chunks = new ArrayList<>();
+        while (documents.hasNext()) {
+            Object[] batch = new Object[CHUNK_SIZE];
+            int size = 0;
+            while (size < CHUNK_SIZE && documents.hasNext()) {
+                batch[size++] = documents.next();
+            }
+            Object[] docs = size == CHUNK_SIZE ? batch : Arrays.copyOf(batch, size);
+            inFlight.addLast(pool.submit(() -> evaluateChunk(docs)));
+            if (inFlight.size() >= maxInFlight) {
+                chunks.add(inFlight.removeFirst().join());
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            chunks.add(inFlight.removeFirst().join());
+        }
+
+        int rows = 0;
+        int failures = 0;
+        for (Chunk chunk : chunks) {
+            rows += chunk.rows;
+            failures += chunk.failures;
+        }
+        Object[][] columns = new Object[paths.length][rows];
+        int offset = 0;
+        for (Chunk chunk : chunks) {
+            for (int p = 0; p < paths.length; p++) {
+                System.arraycopy(chunk.columns[p], 0, columns[p], offset, chunk.rows);
+            }
+            offset += chunk.rows;
+        }
+
+        Metrics.stop("jsonpath.batch", start);
+        return new Result(paths, columns, rows, failures, config);
+    }
+
+    private Chunk evaluateChunk(Object[] docs) {
+        Object[][] columns = new Object[paths.length][docs.length];
+        int failures = 0;
+        for (int row = 0; row < docs.length; row++) {
+            Object document;
+            try {
+                document = parse(docs[row]);
+            } catch (RuntimeException | IOException e) {
+                failures++;
+                continue;
+            }
+            for (int p = 0; p < compiled.length; p++) {
+                columns[p][row] = compiled[p].read(document, config);
+            }
+        }
+        return new Chunk(columns, docs.length, failures);
+    }
+
+    private Object parse(Object doc) throws IOException {
+        if (doc instanceof byte[]) {
+            byte[] bytes = (byte[]) doc;
+            return reader != null ? reader.readValue(bytes) : config.jsonProvider().parse(new String(bytes, StandardCharsets.UTF_8));
+        }
+        if (doc instanceof String) {
+            return reader != null ? reader.readValue((String) doc) : config.jsonProvider().parse((String) doc);
+        }
+        throw new IllegalArgumentException("Unsupported document type: " + (doc == null ? null : doc.getClass().getName()));
+    }
+
+    private static final class Chunk {
+        private final Object[][] columns;
+        private final int rows;
+        private final int failures;
+
+        Chunk(Object[][] columns, int rows, int failures) {
+            this.columns = columns;
+            this.rows = rows;
+            this.failures = failures;
+        }
+    }
+
+    /**
+     * 按列存储的求值结果
+     */
+    public static final class Result {
+        private final String[] paths;
+        private final Object[][] columns;
+        private final int rows;
+        private final int failures;
+        private final Configuration config;
+
+        Result(String[] paths, Object[][] columns, int rows, int failures, Configuration config) {
+            this.paths = paths;
+            this.columns = columns;
+            this.rows = rows;
+            this.failures = failures;
+            this.config = config;
+        }
+
+        /**
+         * 文档数量，即每列的长度
+         *
+         * @return 行数
+         */
+        public int getRows() {
+            return rows;
+        }
+
+        /**
+         * 无法解析的文档数量
+         *
+         * @return 失败数
+         */
+        public int getFailures() {
+            return failures;
+        }
+
+        /**
+         * 读取单个值
+         *
+         * @param row    文档序号
+         * @param column 路径序号
+         * @return 值，路径不存在时为null
+         */
+        public Object get(int row, int column) {
+            return columns[column][row];
+        }
+
+        /**
+         * 读取一列
+         *
+         * @param column 路径序号
+         * @return 按文档顺序排列的值，只读
+         */
+        public List<Object> getColumn(int column) {
+            return Collections.unmodifiableList(Arrays.asList(columns[column]));
+        }
+
+        /**
+         * 读取一列
+         *
+         * @param path 创建时传入的路径
+         * @return 按文档顺序排列的值，只读
+         */
+        public List<Object> getColumn(String path) {
+            return getColumn(indexOf(path));
+        }
+
+        /**
+         * 读取一列并转换为指定类型
+         *
+         * @param <T>   期望类型
+         * @param path  创建时传入的路径
+         * @param clazz 期望类型
+         * @return 按文档顺序排列的值
+         */
+        public <T> List<T> getColumn(String path, Class<T> clazz) {
+            Object[] values = columns[indexOf(path)];
+            List<T> result = new ArrayList<>(values.length);
+            for (Object value : values) {
+                result.add(value == null ? null : config.mappingProvider().map(value, clazz, config));
+            }
+            return result;
+        }
+
+        private int indexOf(String path) {
+            for (int i = 0; i < paths.length; i++) {
+                if (paths[i].equals(path)) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("No such path: " + path);
+        }
+    }
+}
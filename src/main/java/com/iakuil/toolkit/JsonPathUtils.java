@@ -173,13 +173,39 @@ public class JsonPathUtils {
         return parse(json).read(path, clazz);
     }
 
+    /**
+     * 解析为可反复查询的文档，等值过滤查询自动建立索引
+     *
+     * @param json json数据
+     * @return JSON文档
+     */
+    public static JsonDocument document(String json) {
+        return new JsonDocument(parse(json));
+    }
+
+    /**
+     * 创建批量求值器，在多个文档上并行求值同一组路径
+     *
+     * @param paths json path
+     * @return 批量求值器
+     */
+    public static JsonPathBatch batch(String... paths) {
+        if (paths == null || paths.length == 0) {
+            throw new IllegalArgumentException("Paths must not be empty!");
+        }
+        return new JsonPathBatch(CONFIG, paths);
+    }
+
     private static <T> T read(String json, String path, TypeRef<T> tr) {
         return parse(json).read(path, tr);
     }
 
     private static DocumentContext parse(String json) {
-        return JsonPath
+        long start = Metrics.start();
+        DocumentContext context = JsonPath
             .using(CONFIG)
             .parse(json);
+        Metrics.stop("jsonpath.parse", start);
+        return context;
     }
 }
@@ -0,0 +1,269 @@
+package com.iakuil.toolkit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 命名的JSON Mapper配置
+ *
+ * <p>通过{@link JsonUtils#registerProfile(String, java.util.function.Consumer)}从共享的基础Mapper复制创建，
+ * 注册后配置不可再修改，每个Profile持有各自预热的序列化缓存。
+ * <p>线程安全。
+ *
+ * @author Kai
+ */
+public final class JsonProfile {
+    private final String name;
+    private final ObjectMapper mapper;
+    private final ObjectWriter writer;
+    private final JavaType mapType;
+    private final Map<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectReader> updatingReaders = new ConcurrentHashMap<>();
+    private volatile ObjectMapper mergingMapper;
+
+    JsonProfile(String name, ObjectMapper mapper) {
+        this.name = name;
+        this.mapper = mapper;
+        this.writer = mapper.writer();
+        this.mapType = mapper.getTypeFactory().constructMapType(LinkedHashMap.class, String.class, Object.class);
+        Metrics.registerGauge("json.reader.size[" + name + "]", readers::size);
+    }
+
+    /**
+     * Profile名称
+     *
+     * @return 名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * javabean转换为JSON
+     *
+     * @param obj javabean对象
+     * @return JSON数据
+     */
+    public String bean2Json(Object obj) {
+        if (obj == null) {
+            return null;
+        }
+
+        long start = Metrics.start();
+        String result;
+        try {
+            result = writer.writeValueAsString(obj);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Occurring an exception during object parsing!", e);
+        }
+
+        Metrics.stop("json.write", start);
+        return result;
+    }
+
+    /**
+     * JSON转换为javabean
+     *
+     * @param <T>     javabean类型
+     * @param jsonStr json数据
+     * @param clazz   期望类型
+     * @return 指定类型的javabean
+     */
+    public <T> T json2bean(String jsonStr, Class<T> clazz) {
+        if (clazz == null) {
+            return null;
+        }
+        return readType(jsonStr, mapper.constructType(clazz));
+    }
+
+    /**
+     * JSON转换为Map
+     *
+     * @param jsonStr json数据
+     * @return Map<String, Object>类型
+     */
+    public Map<String, Object> json2Map(String jsonStr) {
+        return readType(jsonStr, mapType);
+    }
+
+    /**
+     * JSON转换为javabean列表
+     *
+     * @param <T>     javabean类型
+     * @param jsonStr json数据
+     * @param clazz   期望类型
+     * @return 指定类型的javabean列表
+     */
+    public <T> List<T> json2List(String jsonStr, Class<T> clazz) {
+        return readType(jsonStr, mapper.getTypeFactory().constructCollectionType(ArrayList.class, clazz));
+    }
+
+    /**
+     * JSON转换为javabean Set
+     *
+     * @param <T>     javabean类型
+     * @param jsonStr json数据
+     * @param clazz   期望类型
+     * @return 指定类型的javabean Set
+     */
+    public <T> Set<T> json2Set(String jsonStr, Class<T> clazz) {
+        return readType(jsonStr, mapper.getTypeFactory().constructCollectionType(HashSet.class, clazz));
+    }
+
+    /**
+     * JSON转换为javabean数组
+     *
+     * @param <T>     javabean类型
+     * @param jsonStr json数据
+     * @param clazz   期望类型
+     * @return 指定类型的javabean数组
+     */
+    public <T> T[] json2Array(String jsonStr, Class<T> clazz) {
+        return readType(jsonStr, mapper.getTypeFactory().constructArrayType(clazz));
+    }
+
+    /**
+     * JSON读入已有的javabean
+     *
+     * <p>读入前先重置目标：普通属性置为null或基本类型的默认值，集合和Map清空后复用原有实例，数组属性重新创建，
+     * 嵌套的javabean保留实例并递归重置后原地合并。JSON中没有出现的属性不会保留上一次的值，
+     * 没有出现的嵌套javabean是所有属性均已重置的实例而不是null。适合配合{@link ObjectPool}反复解码格式相同的消息。
+     *
+     * @param <T>     javabean类型
+     * @param jsonStr json数据
+     * @param target  被读入的javabean
+     * @return 被读入的javabean
+     */
+    public <T> T readInto(String jsonStr, T target) {
+        Objects.requireNonNull(target, "Target must not be null!");
+        if (jsonStr == null || "".equals(jsonStr)) {
+            return target;
+        }
+
+        long start = Metrics.start();
+        BeanResetter.reset(target);
+        try {
+            updatingReaderFor(target.getClass()).withValueToUpdate(target).readValue(jsonStr);
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during json parsing!", e);
+        }
+
+        Metrics.stop("json.read.into", start);
+        return target;
+    }
+
+    /**
+     * 创建增量JSON解码器，逐个交付以空白分隔的顶层值
+     *
+     * @param <T>      javabean类型
+     * @param clazz    期望类型
+     * @param consumer 值回调
+     * @return 解码器
+     */
+    public <T> JsonAsyncDecoder<T> asyncDecoder(Class<T> clazz, Consumer<? super T> consumer) {
+        return asyncDecoder(clazz, false, consumer);
+    }
+
+    /**
+     * 创建增量JSON解码器，逐个交付顶层数组的元素
+     *
+     * @param <T>      javabean类型
+     * @param clazz    元素类型
+     * @param consumer 元素回调
+     * @return 解码器
+     */
+    public <T> JsonAsyncDecoder<T> asyncArrayDecoder(Class<T> clazz, Consumer<? super T> consumer) {
+        return asyncDecoder(clazz, true, consumer);
+    }
+
+    /**
+     * 获取指定类型的Reader，按类型缓存
+     *
+     * @param type Java类型
+     * @return ObjectReader
+     */
+    ObjectReader readerFor(JavaType type) {
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            Metrics.increment("json.reader.miss");
+            reader = readers.computeIfAbsent(type, mapper::readerFor);
+        } else {
+            Metrics.increment("json.reader.hit");
+        }
+        return reader;
+    }
+
+    /**
+     * 获取读入已有对象的Reader，按类型缓存
+     *
+     * <p>使用开启了默认合并的Mapper副本，嵌套对象和集合才会原地更新。
+     *
+     * @param clazz javabean类型
+     * @return ObjectReader
+     */
+    ObjectReader updatingReaderFor(Class<?> clazz) {
+        ObjectReader reader = updatingReaders.get(clazz);
+        if (reader == null) {
+            if (mergingMapper == null) {
+                synchronized (this) {
+                    if (mergingMapper == null) {
+                        ObjectMapper copy = mapper.copy();
+                        copy.setDefaultMergeable(true);
+                        mergingMapper = copy;
+                    }
+                }
+            }
+            reader = updatingReaders.computeIfAbsent(clazz, mergingMapper::readerFor);
+        }
+        return reader;
+    }
+
+    ObjectWriter writer() {
+        return writer;
+    }
+
+    ObjectMapper mapper() {
+        return mapper;
+    }
+
+    private <T> JsonAsyncDecoder<T> asyncDecoder(Class<T> clazz, boolean unwrapArray, Consumer<? super T> consumer) {
+        Objects.requireNonNull(clazz, "Class must not be null!");
+        Objects.requireNonNull(consumer, "Consumer must not be null!");
+        try {
+            return new JsonAsyncDecoder<>(mapper.getFactory().createNonBlockingByteArrayParser(),
+                readerFor(mapper.constructType(clazz)), unwrapArray, consumer);
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during json parsing!", e);
+        }
+    }
+
+    private <T> T readType(String jsonStr, JavaType type) {
+        if (jsonStr == null || "".equals(jsonStr) || type == null) {
+            return null;
+        }
+
+        long start = Metrics.start();
+        T result;
+        try {
+            result = readerFor(type).readValue(jsonStr);
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during json parsing!", e);
+        }
+
+        Metrics.stop("json.read", start);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "JsonProfile{" + name + "}";
+    }
+}
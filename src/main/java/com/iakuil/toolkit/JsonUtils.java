@@ -1,51 +1,101 @@
 package com.iakuil.toolkit;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.TypeBase;
 
-import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * 基于Jackson的JSON工具类
  *
+ * <p>启动参数{@code -Dez-toolkit.jackson.accelerated=true}可开启基于LambdaMetafactory的属性访问加速。
+ * <p>需要不同日期格式、命名策略等配置时，使用{@link #registerProfile(String, Consumer)}注册命名Profile，
+ * 再通过{@link #profile(String)}按调用选择。
+ *
  * @author Kai
  */
 public class JsonUtils {
+    /**
+     * 默认Profile名称
+     */
+    public static final String DEFAULT_PROFILE = "default";
+
     private static final ObjectMapper OBJECT_MAPPER;
+    private static final boolean ACCELERATED;
+    private static final JsonProfile DEFAULT;
+    private static final Map<String, JsonProfile> PROFILES = new ConcurrentHashMap<>();
 
     static {
         OBJECT_MAPPER = new ObjectMapper();
         OBJECT_MAPPER.setSerializationInclusion(JsonInclude.Include.NON_NULL);
         OBJECT_MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        ACCELERATED = MapperAccelerator.accelerateIfEnabled(OBJECT_MAPPER);
+        DEFAULT = new JsonProfile(DEFAULT_PROFILE, OBJECT_MAPPER);
+        PROFILES.put(DEFAULT_PROFILE, DEFAULT);
     }
 
     private JsonUtils() {
     }
 
     /**
-     * javabean转换为JSON
+     * 是否处于加速模式
      *
-     * @param obj javabean对象
-     * @return JSON数据
+     * @return 已注册加速模块返回true，反射模式返回false
      */
-    public static String bean2Json(Object obj) {
-        if (obj == null) {
-            return null;
+    public static boolean isAccelerated() {
+        return ACCELERATED;
+    }
+
+    /**
+     * 注册命名Profile
+     *
+     * <p>基于默认Mapper的副本创建，配置只能在customizer中修改，注册后不可变。
+     * <p>应在启动时注册一次，不要在每次请求时注册。
+     *
+     * @param name       Profile名称
+     * @param customizer Mapper配置回调
+     * @return 注册的Profile
+     */
+    public static JsonProfile registerProfile(String name, Consumer<ObjectMapper> customizer) {
+        Objects.requireNonNull(name, "Profile name must not be null!");
+        Objects.requireNonNull(customizer, "Customizer must not be null!");
+
+        ObjectMapper mapper = OBJECT_MAPPER.copy();
+        customizer.accept(mapper);
+        JsonProfile profile = new JsonProfile(name, mapper);
+        if (PROFILES.putIfAbsent(name, profile) != null) {
+            throw new IllegalStateException("Json profile \"" + name + "\" has already been registered!");
         }
 
-        String result;
-        try {
-            result = OBJECT_MAPPER.writeValueAsString(obj);
-        } catch (JsonProcessingException e) {
-            throw new IllegalStateException("Occurring an exception during object parsing!", e);
+        return profile;
+    }
+
+    /**
+     * 获取命名Profile
+     *
+     * @param name Profile名称
+     * @return 已注册的Profile
+     */
+    public static JsonProfile profile(String name) {
+        JsonProfile profile = PROFILES.get(name);
+        if (profile == null) {
+            throw new IllegalArgumentException("Json profile \"" + name + "\" is not registered!");
         }
 
-        return result;
+        return profile;
+    }
+
+    /**
+     * javabean转换为JSON
+     *
+     * @param obj javabean对象
+     * @return JSON数据
+     */
+    public static String bean2Json(Object obj) {
+        return DEFAULT.bean2Json(obj);
     }
 
     /**
@@ -57,19 +107,7 @@ public class JsonUtils {
      * @return 指定类型的javabean
      */
     public static <T> T json2bean(String jsonStr, Class<T> clazz) {
-        if (jsonStr == null || "".equals(jsonStr) || clazz == null) {
-            return null;
-        }
-
-        T result;
-
-        try {
-            result = OBJECT_MAPPER.readValue(jsonStr, clazz);
-        } catch (IOException e) {
-            throw new IllegalStateException("Occurring an exception during json parsing!", e);
-        }
-
-        return result;
+        return DEFAULT.json2bean(jsonStr, clazz);
     }
 
     /**
@@ -79,18 +117,7 @@ public class JsonUtils {
      * @return Map<String, Object>类型
      */
     public static Map<String, Object> json2Map(String jsonStr) {
-        if (jsonStr == null || "".equals(jsonStr)) {
-            return null;
-        }
-
-        Map<String, Object> result;
-        try {
-            result = OBJECT_MAPPER.readValue(jsonStr, new TypeReference<Map<String, Object>>() {
-            });
-        } catch (JsonProcessingException e) {
-            throw new IllegalStateException("Occurring an exception during json parsing!", e);
-        }
-        return result;
+        return DEFAULT.json2Map(jsonStr);
     }
 
     /**
@@ -102,7 +129,7 @@ public class JsonUtils {
      * @return 指定类型的javabean列表
      */
     public static <T> List<T> json2List(String jsonStr, Class<T> clazz) {
-        return readType(jsonStr, OBJECT_MAPPER.getTypeFactory().constructCollectionType(ArrayList.class, clazz));
+        return DEFAULT.json2List(jsonStr, clazz);
     }
 
     /**
@@ -114,7 +141,7 @@ public class JsonUtils {
      * @return 指定类型的javabean Set
      */
     public static <T> Set<T> json2Set(String jsonStr, Class<T> clazz) {
-        return readType(jsonStr, OBJECT_MAPPER.getTypeFactory().constructCollectionType(HashSet.class, clazz));
+        return DEFAULT.json2Set(jsonStr, clazz);
     }
 
     /**
@@ -126,21 +153,60 @@ public class JsonUtils {
      * @return 指定类型的javabean数组
      */
     public static <T> T[] json2Array(String jsonStr, Class<T> clazz) {
-        return readType(jsonStr, OBJECT_MAPPER.getTypeFactory().constructArrayType(clazz));
+        return DEFAULT.json2Array(jsonStr, clazz);
     }
 
-    private static <T> T readType(String jsonStr, TypeBase type) {
-        if (jsonStr == null || "".equals(jsonStr) || type == null) {
-            return null;
-        }
+    /**
+     * JSON读入已有的javabean，读入前重置全部可写属性，嵌套对象和集合复用原有实例
+     *
+     * @param <T>     javabean类型
+     * @param jsonStr json数据
+     * @param target  被读入的javabean
+     * @return 被读入的javabean
+     */
+    public static <T> T readInto(String jsonStr, T target) {
+        return DEFAULT.readInto(jsonStr, target);
+    }
 
-        T result;
-        try {
-            result = OBJECT_MAPPER.readValue(jsonStr, type);
-        } catch (IOException e) {
-            throw new IllegalStateException("Occurring an exception during json parsing!", e);
-        }
+    /**
+     * 创建增量JSON解码器，逐个交付以空白分隔的顶层值
+     *
+     * @param <T>      javabean类型
+     * @param clazz    期望类型
+     * @param consumer 值回调
+     * @return 解码器
+     */
+    public static <T> JsonAsyncDecoder<T> asyncDecoder(Class<T> clazz, Consumer<? super T> consumer) {
+        return DEFAULT.asyncDecoder(clazz, consumer);
+    }
+
+    /**
+     * 创建增量JSON解码器，逐个交付顶层数组的元素
+     *
+     * @param <T>      javabean类型
+     * @param clazz    元素类型
+     * @param consumer 元素回调
+     * @return 解码器
+     */
+    public static <T> JsonAsyncDecoder<T> asyncArrayDecoder(Class<T> clazz, Consumer<? super T> consumer) {
+        return DEFAULT.asyncArrayDecoder(clazz, consumer);
+    }
 
-        return result;
+    /**
+     * 获取共享的ObjectMapper，仅供工具包内部使用
+     *
+     * @return ObjectMapper
+     */
+    static ObjectMapper mapper() {
+        return OBJECT_MAPPER;
+    }
+
+    /**
+     * 获取默认Profile，仅供工具包内部使用
+     *
+     * @return 默认Profile
+     */
+    static JsonProfile defaultProfile() {
+        return DEFAULT;
     }
 }
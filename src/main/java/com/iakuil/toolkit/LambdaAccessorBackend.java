@@ -0,0 +1,307 @@
+package com.iakuil.toolkit;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 基于{@link LambdaMetafactory}的属性访问后端
+ *
+ * <p>为每个Getter/Setter生成一个lambda，不依赖cglib，也不需要额外的JVM参数。
+ * 属性复制器优先由{@link CopierClassGenerator}生成直线式的复制类，不支持时逐个属性调用lambda。
+ * JDK 9及以上通过{@code MethodHandles.privateLookupIn}在JavaBean所在的类中定义lambda，
+ * JDK 15起这些lambda是隐藏类，但由本后端和{@link BeanMapUtils}、{@link BeanUtils}的静态缓存强引用，
+ * 与cglib生成的类一样不会随JavaBean卸载；
+ * JDK 8上只能访问本工具包可见的public方法。
+ * <p>属性的发现规则与JavaBeans一致：{@code getXxx}/{@code isXxx}（仅boolean）和返回void的{@code setXxx}，
+ * Setter与Getter类型不一致时该属性只读；record的组件作为只读属性。
+ *
+ * @author Kai
+ */
+final class LambdaAccessorBackend implements AccessorBackend {
+    private final Map<Class<?>, LambdaBeanAccessor> accessors = new ConcurrentHashMap<>();
+
+    @Override
+    public String getName() {
+        return AccessorBackends.LAMBDA;
+    }
+
+    @Override
+    public BeanAccessor accessor(Class<?> clazz) {
+        return accessorOf(clazz);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public PropertyCopier copier(Class<?> from, Class<?> to) {
+        LambdaBeanAccessor source = accessorOf(from);
+        LambdaBeanAccessor target = accessorOf(to);
+        List<Function<Object, Object>> getters = new ArrayList<>();
+        List<BiConsumer<Object, Object>> setters = new ArrayList<>();
+        List<Method> getterMethods = new ArrayList<>();
+        List<Method> setterMethods = new ArrayList<>();
+        for (int i = 0; i < source.size(); i++) {
+            int j = target.indexOf(source.getName(i));
+            if (j >= 0 && source.isReadable(i) && target.isWritable(j) && source.getType(i) == target.getType(j)) {
+                getters.add(source.getters[i]);
+                setters.add(target.setters[j]);
+                getterMethods.add(source.getterMethods[i]);
+                setterMethods.add(target.setterMethods[j]);
+            }
+        }
+
+        PropertyCopier copier = CopierClassGenerator.generate(source.lookup, from, to, getterMethods, setterMethods);
+        if (copier != null) {
+            return copier;
+        }
+        return new LambdaPropertyCopier(getters.toArray(new Function[0]), setters.toArray(new BiConsumer[0]));
+    }
+
+    private LambdaBeanAccessor accessorOf(Class<?> clazz) {
+        return accessors.computeIfAbsent(clazz, LambdaBeanAccessor::new);
+    }
+
+    private static final class LambdaPropertyCopier implements PropertyCopier {
+        private final Function<Object, Object>[] getters;
+        private final BiConsumer<Object, Object>[] setters;
+
+        LambdaPropertyCopier(Function<Object, Object>[] getters, BiConsumer<Object, Object>[] setters) {
+            this.getters = getters;
+            this.setters = setters;
+        }
+
+        @Override
+        public void copy(Object from, Object to) {
+            for (int i = 0; i < getters.length; i++) {
+                setters[i].accept(to, getters[i].apply(from));
+            }
+        }
+    }
+
+    private static final class LambdaBeanAccessor implements BeanAccessor {
+        private final Class<?> beanClass;
+        private final String[] names;
+        private final Class<?>[] types;
+        private final Object[] zeros;
+        private final Function<Object, Object>[] getters;
+        private final BiConsumer<Object, Object>[] setters;
+        private final Method[] getterMethods;
+        private final Method[] setterMethods;
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final Supplier<Object> constructor;
+        private final MethodHandles.Lookup lookup;
+
+        @SuppressWarnings("unchecked")
+        LambdaBeanAccessor(Class<?> beanClass) {
+            this.beanClass = beanClass;
+
+            Map<String, Method> getterCandidates = new TreeMap<>();
+            Map<String, List<Method>> setterCandidates = new TreeMap<>();
+            if (AccessorBackends.isRecord(beanClass)) {
+                // record的组件即只读属性，访问方法与组件同名
+                for (Method accessor : AccessorBackends.recordAccessors(beanClass)) {
+                    getterCandidates.put(accessor.getName(), accessor);
+                }
+            } else {
+                for (Method method : beanClass.getMethods()) {
+                    if (Modifier.isStatic(method.getModifiers()) || method.isBridge() || method.getDeclaringClass() == Object.class) {
+                        continue;
+                    }
+                    String name = method.getName();
+                    Class<?> returnType = method.getReturnType();
+                    if (method.getParameterCount() == 0) {
+                        if (name.length() > 3 && name.startsWith("get") && returnType != void.class) {
+                            getterCandidates.putIfAbsent(decapitalize(name.substring(3)), method);
+                        } else if (name.length() > 2 && name.startsWith("is") && returnType == boolean.class) {
+                            // 与JavaBeans一致，isXxx优先于getXxx
+                            getterCandidates.put(decapitalize(name.substring(2)), method);
+                        }
+                    } else if (method.getParameterCount() == 1 && name.length() > 3 && name.startsWith("set") && returnType == void.class) {
+                        setterCandidates.computeIfAbsent(decapitalize(name.substring(3)), k -> new ArrayList<>()).add(method);
+                    }
+                }
+            }
+
+            SortedSet<String> properties = new TreeSet<>(getterCandidates.keySet());
+            properties.addAll(setterCandidates.keySet());
+            names = properties.toArray(new String[0]);
+            types = new Class<?>[names.length];
+            zeros = new Object[names.length];
+            getters = new Function[names.length];
+            setters = new BiConsumer[names.length];
+            getterMethods = new Method[names.length];
+            setterMethods = new Method[names.length];
+
+            lookup = AccessorBackends.lookupFor(beanClass);
+            try {
+                for (int i = 0; i < names.length; i++) {
+                    Method getter = getterCandidates.get(names[i]);
+                    Method setter = chooseSetter(setterCandidates.get(names[i]), getter);
+                    getterMethods[i] = getter;
+                    setterMethods[i] = setter;
+                    types[i] = getter != null ? getter.getReturnType() : setter.getParameterTypes()[0];
+                    zeros[i] = AccessorBackends.zeroOf(types[i]);
+                    if (getter != null) {
+                        getters[i] = getter(lookup, getter);
+                    }
+                    if (setter != null) {
+                        setters[i] = setter(lookup, setter);
+                    }
+                    indexes.put(names[i], i);
+                }
+            } catch (Throwable e) {
+                throw new IllegalStateException("Occurring an exception during accessor generating for " + beanClass.getName() + "!", e);
+            }
+            constructor = constructor(lookup, beanClass);
+        }
+
+        @Override
+        public Class<?> getBeanClass() {
+            return beanClass;
+        }
+
+        @Override
+        public int size() {
+            return names.length;
+        }
+
+        @Override
+        public String getName(int index) {
+            return names[index];
+        }
+
+        @Override
+        public Class<?> getType(int index) {
+            return types[index];
+        }
+
+        @Override
+        public int indexOf(String name) {
+            Integer index = indexes.get(name);
+            return index == null ? -1 : index;
+        }
+
+        @Override
+        public boolean isReadable(int index) {
+            return getters[index] != null;
+        }
+
+        @Override
+        public boolean isWritable(int index) {
+            return setters[index] != null;
+        }
+
+        @Override
+        public Object get(Object bean, int index) {
+            Function<Object, Object> getter = getters[index];
+            return getter == null ? null : getter.apply(bean);
+        }
+
+        @Override
+        public void set(Object bean, int index, Object value) {
+            BiConsumer<Object, Object> setter = setters[index];
+            if (setter != null) {
+                setter.accept(bean, value == null ? zeros[index] : value);
+            }
+        }
+
+        @Override
+        public Object newInstance() {
+            if (constructor == null) {
+                throw new IllegalStateException("No default constructor found in " + beanClass.getName() + "!");
+            }
+            return constructor.get();
+        }
+
+        private static Method chooseSetter(List<Method> candidates, Method getter) {
+            if (candidates == null) {
+                return null;
+            }
+            if (getter != null) {
+                for (Method candidate : candidates) {
+                    if (candidate.getParameterTypes()[0] == getter.getReturnType()) {
+                        return candidate;
+                    }
+                }
+                return null;
+            }
+            candidates.sort(Comparator.comparing(m -> m.getParameterTypes()[0].getName()));
+            return candidates.get(0);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Function<Object, Object> getter(MethodHandles.Lookup lookup, Method method) throws Throwable {
+            MethodHandle handle = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                MethodType.methodType(Function.class),
+                MethodType.methodType(Object.class, Object.class),
+                handle,
+                MethodType.methodType(wrap(method.getReturnType()), handle.type().parameterType(0)));
+            return (Function<Object, Object>) site.getTarget().invoke();
+        }
+
+        @SuppressWarnings("unchecked")
+        private static BiConsumer<Object, Object> setter(MethodHandles.Lookup lookup, Method method) throws Throwable {
+            MethodHandle handle = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                MethodType.methodType(BiConsumer.class),
+                MethodType.methodType(void.class, Object.class, Object.class),
+                handle,
+                MethodType.methodType(void.class, handle.type().parameterType(0), wrap(method.getParameterTypes()[0])));
+            return (BiConsumer<Object, Object>) site.getTarget().invoke();
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Supplier<Object> constructor(MethodHandles.Lookup lookup, Class<?> clazz) {
+            if (Modifier.isAbstract(clazz.getModifiers())) {
+                return null;
+            }
+
+            Constructor<?> ctor;
+            try {
+                ctor = clazz.getDeclaredConstructor();
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+            try {
+                MethodHandle handle = lookup.unreflectConstructor(ctor);
+                CallSite site = LambdaMetafactory.metafactory(lookup, "get",
+                    MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class),
+                    handle,
+                    MethodType.methodType(clazz));
+                return (Supplier<Object>) site.getTarget().invoke();
+            } catch (Throwable e) {
+                // 构造方法不可访问时退回反射，由反射报告具体原因
+                return () -> {
+                    try {
+                        return ctor.newInstance();
+                    } catch (Exception ex) {
+                        throw new IllegalStateException("Occurring an exception during object instancing!", ex);
+                    }
+                };
+            }
+        }
+
+        private static String decapitalize(String name) {
+            if (name.length() > 1 && Character.isUpperCase(name.charAt(0)) && Character.isUpperCase(name.charAt(1))) {
+                return name;
+            }
+            return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+        }
+
+        private static Class<?> wrap(Class<?> type) {
+            return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+        }
+    }
+}
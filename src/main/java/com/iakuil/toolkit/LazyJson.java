@@ -0,0 +1,527 @@
+package com.iakuil.toolkit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 延迟解析的JSON对象视图
+ *
+ * <p>创建时只扫描一次原始字节，记录顶层字段的偏移量，字段值在访问时才解码。
+ * <p>序列化时未修改的字段直接拷贝原始字节，不经过对象树。
+ * <p>通过{@link #getObject(String)}得到的子对象是独立视图，修改后需要{@link #put(String, Object)}回父对象。
+ * <p>非线程安全。
+ *
+ * @author Kai
+ */
+public final class LazyJson {
+    private static final Object REMOVED = new Object();
+
+    private final byte[] src;
+    private final int start;
+    private final int end;
+
+    private String[] names = new String[8];
+    private int[] nameStarts = new int[8];
+    private int[] valueStarts = new int[8];
+    private int[] valueEnds = new int[8];
+    private int count;
+
+    private Map<String, Object> changes;
+
+    private LazyJson(byte[] src, int start, int end) {
+        this.src = src;
+        this.start = start;
+        this.end = end;
+        index();
+    }
+
+    /**
+     * 解析JSON对象
+     *
+     * @param json JSON字符串
+     * @return LazyJson对象
+     */
+    public static LazyJson parse(String json) {
+        Objects.requireNonNull(json, "Json must not be null!");
+        return parse(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析JSON对象
+     *
+     * @param json UTF-8编码的JSON数据，解析后不可再修改
+     * @return LazyJson对象
+     */
+    public static LazyJson parse(byte[] json) {
+        Objects.requireNonNull(json, "Json must not be null!");
+        return parse(json, 0, json.length);
+    }
+
+    /**
+     * 解析JSON对象
+     *
+     * @param json   UTF-8编码的JSON数据，解析后不可再修改
+     * @param offset 起始位置
+     * @param length 长度
+     * @return LazyJson对象
+     */
+    public static LazyJson parse(byte[] json, int offset, int length) {
+        Objects.requireNonNull(json, "Json must not be null!");
+        if (offset < 0 || length < 0 || offset + length > json.length) {
+            throw new IndexOutOfBoundsException("Illegal range [" + offset + ", " + (offset + length) + ")!");
+        }
+        return new LazyJson(json, offset, offset + length);
+    }
+
+    /**
+     * 是否包含字段
+     *
+     * @param name 字段名
+     * @return 包含返回true
+     */
+    public boolean has(String name) {
+        if (changes != null && changes.containsKey(name)) {
+            return changes.get(name) != REMOVED;
+        }
+        return indexOf(name) >= 0;
+    }
+
+    /**
+     * 字段名列表，按原始顺序排列，新增字段在最后
+     *
+     * @return 字段名集合
+     */
+    public Set<String> fieldNames() {
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i < count; i++) {
+            result.add(names[i]);
+        }
+        if (changes != null) {
+            for (Map.Entry<String, Object> entry : changes.entrySet()) {
+                if (entry.getValue() == REMOVED) {
+                    result.remove(entry.getKey());
+                } else {
+                    result.add(entry.getKey());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 读取字段为指定类型
+     *
+     * @param <T>   期望类型
+     * @param name  字段名
+     * @param clazz 期望类型
+     * @return 字段值，字段不存在时返回null
+     */
+    public <T> T get(String name, Class<T> clazz) {
+        if (changes != null && changes.containsKey(name)) {
+            Object changed = changes.get(name);
+            if (changed == REMOVED) {
+                return null;
+            }
+            if (changed instanceof LazyJson) {
+                return ((LazyJson) changed).toBean(clazz);
+            }
+            return JsonUtils.mapper().convertValue(changed, clazz);
+        }
+
+        int i = indexOf(name);
+        if (i < 0) {
+            return null;
+        }
+        try {
+            return JsonUtils.mapper().readValue(src, valueStarts[i], valueEnds[i] - valueStarts[i], clazz);
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during json parsing!", e);
+        }
+    }
+
+    /**
+     * 读取字段为String
+     *
+     * <p>不含转义字符的字符串直接从原始字节解码。
+     *
+     * @param name 字段名
+     * @return 字段值，字段不存在时返回null
+     */
+    public String getStr(String name) {
+        if (changes == null || !changes.containsKey(name)) {
+            int i = indexOf(name);
+            if (i < 0) {
+                return null;
+            }
+            int vs = valueStarts[i];
+            int ve = valueEnds[i];
+            if (src[vs] == '"' && !hasEscape(vs + 1, ve - 1)) {
+                return new String(src, vs + 1, ve - vs - 2, StandardCharsets.UTF_8);
+            }
+        }
+        return get(name, String.class);
+    }
+
+    /**
+     * 读取字段为Long
+     *
+     * @param name 字段名
+     * @return 字段值，字段不存在时返回null
+     */
+    public Long getLong(String name) {
+        return get(name, Long.class);
+    }
+
+    /**
+     * 读取字段为Integer
+     *
+     * @param name 字段名
+     * @return 字段值，字段不存在时返回null
+     */
+    public Integer getInt(String name) {
+        return get(name, Integer.class);
+    }
+
+    /**
+     * 读取嵌套对象为LazyJson视图，与当前对象共享原始字节
+     *
+     * @param name 字段名
+     * @return 嵌套对象视图，字段不存在或为null时返回null
+     */
+    public LazyJson getObject(String name) {
+        if (changes != null && changes.containsKey(name)) {
+            Object changed = changes.get(name);
+            if (changed == REMOVED || changed == null) {
+                return null;
+            }
+            if (changed instanceof LazyJson) {
+                return (LazyJson) changed;
+            }
+            return LazyJson.parse(JsonUtils.bean2Json(changed));
+        }
+
+        int i = indexOf(name);
+        if (i < 0 || src[valueStarts[i]] == 'n') {
+            return null;
+        }
+        if (src[valueStarts[i]] != '{') {
+            throw new IllegalStateException("Field \"" + name + "\" is not a json object!");
+        }
+        return new LazyJson(src, valueStarts[i], valueEnds[i]);
+    }
+
+    /**
+     * 读取字段的原始JSON文本
+     *
+     * @param name 字段名
+     * @return 原始JSON文本，字段不存在时返回null
+     */
+    public String getRaw(String name) {
+        if (changes != null && changes.containsKey(name)) {
+            Object changed = changes.get(name);
+            return changed == REMOVED ? null : new String(encode(changed), StandardCharsets.UTF_8);
+        }
+
+        int i = indexOf(name);
+        return i < 0 ? null : new String(src, valueStarts[i], valueEnds[i] - valueStarts[i], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 设置字段值，序列化时由Jackson编码，LazyJson类型的值直接拷贝其字节
+     *
+     * @param name  字段名
+     * @param value 字段值
+     * @return 当前对象
+     */
+    public LazyJson put(String name, Object value) {
+        Objects.requireNonNull(name, "Name must not be null!");
+        changes().put(name, value);
+        return this;
+    }
+
+    /**
+     * 删除字段
+     *
+     * @param name 字段名
+     * @return 当前对象
+     */
+    public LazyJson remove(String name) {
+        changes().put(name, REMOVED);
+        return this;
+    }
+
+    /**
+     * 完整解码为指定类型
+     *
+     * @param <T>   期望类型
+     * @param clazz 期望类型
+     * @return 指定类型的javabean
+     */
+    public <T> T toBean(Class<T> clazz) {
+        try {
+            return JsonUtils.mapper().readValue(toBytes(), clazz);
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during json parsing!", e);
+        }
+    }
+
+    /**
+     * 序列化为UTF-8字节，未修改的字段直接拷贝原始字节
+     *
+     * @return JSON字节
+     */
+    public byte[] toBytes() {
+        if (changes == null) {
+            return Arrays.copyOfRange(src, start, end);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(end - start + 64);
+        writeTo(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * 序列化到输出流，未修改的字段直接拷贝原始字节
+     *
+     * @param out 输出流
+     */
+    public void writeTo(OutputStream out) {
+        try {
+            if (changes == null) {
+                out.write(src, start, end - start);
+                return;
+            }
+
+            Set<String> written = new HashSet<>();
+            boolean first = true;
+            out.write('{');
+            for (int i = 0; i < count; i++) {
+                String name = names[i];
+                if (changes.containsKey(name)) {
+                    Object changed = changes.get(name);
+                    if (changed == REMOVED || !written.add(name)) {
+                        continue;
+                    }
+                    first = writeSeparator(out, first);
+                    writeField(out, name, changed);
+                } else {
+                    first = writeSeparator(out, first);
+                    out.write(src, nameStarts[i], valueEnds[i] - nameStarts[i]);
+                }
+            }
+            for (Map.Entry<String, Object> entry : changes.entrySet()) {
+                if (entry.getValue() == REMOVED || written.contains(entry.getKey()) || indexOf(entry.getKey()) >= 0) {
+                    continue;
+                }
+                first = writeSeparator(out, first);
+                writeField(out, entry.getKey(), entry.getValue());
+            }
+            out.write('}');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new String(toBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static boolean writeSeparator(OutputStream out, boolean first) throws IOException {
+        if (!first) {
+            out.write(',');
+        }
+        return false;
+    }
+
+    private static void writeField(OutputStream out, String name, Object value) throws IOException {
+        out.write(encode(name));
+        out.write(':');
+        out.write(encode(value));
+    }
+
+    private static byte[] encode(Object value) {
+        if (value instanceof LazyJson) {
+            return ((LazyJson) value).toBytes();
+        }
+        try {
+            return JsonUtils.mapper().writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during object parsing!", e);
+        }
+    }
+
+    private Map<String, Object> changes() {
+        if (changes == null) {
+            changes = new LinkedHashMap<>();
+        }
+        return changes;
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < count; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean hasEscape(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (src[i] == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void index() {
+        int i = skipWhitespace(start);
+        if (i >= end || src[i] != '{') {
+            throw error("Expected '{'", i);
+        }
+        i = skipWhitespace(i + 1);
+        if (i < end && src[i] == '}') {
+            checkTrailing(i + 1);
+            return;
+        }
+
+        while (true) {
+            if (i >= end || src[i] != '"') {
+                throw error("Expected field name", i);
+            }
+            int nameStart = i;
+            int nameEnd = skipString(i);
+            i = skipWhitespace(nameEnd);
+            if (i >= end || src[i] != ':') {
+                throw error("Expected ':'", i);
+            }
+            int valueStart = skipWhitespace(i + 1);
+            int valueEnd = skipValue(valueStart);
+            add(decodeName(nameStart, nameEnd), nameStart, valueStart, valueEnd);
+
+            i = skipWhitespace(valueEnd);
+            if (i < end && src[i] == ',') {
+                i = skipWhitespace(i + 1);
+            } else if (i < end && src[i] == '}') {
+                checkTrailing(i + 1);
+                return;
+            } else {
+                throw error("Expected ',' or '}'", i);
+            }
+        }
+    }
+
+    private void add(String name, int nameStart, int valueStart, int valueEnd) {
+        if (count == names.length) {
+            int capacity = count << 1;
+            names = Arrays.copyOf(names, capacity);
+            nameStarts = Arrays.copyOf(nameStarts, capacity);
+            valueStarts = Arrays.copyOf(valueStarts, capacity);
+            valueEnds = Arrays.copyOf(valueEnds, capacity);
+        }
+        names[count] = name;
+        nameStarts[count] = nameStart;
+        valueStarts[count] = valueStart;
+        valueEnds[count] = valueEnd;
+        count++;
+    }
+
+    private String decodeName(int nameStart, int nameEnd) {
+        if (!hasEscape(nameStart + 1, nameEnd - 1)) {
+            return new String(src, nameStart + 1, nameEnd - nameStart - 2, StandardCharsets.UTF_8);
+        }
+        try {
+            return JsonUtils.mapper().readValue(src, nameStart, nameEnd - nameStart, String.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during json parsing!", e);
+        }
+    }
+
+    private void checkTrailing(int i) {
+        i = skipWhitespace(i);
+        if (i != end) {
+            throw error("Unexpected trailing content", i);
+        }
+    }
+
+    private int skipWhitespace(int i) {
+        while (i < end) {
+            byte b = src[i];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * 跳过字符串，返回结束引号之后的位置
+     */
+    private int skipString(int i) {
+        for (i = i + 1; i < end; i++) {
+            byte b = src[i];
+            if (b == '\\') {
+                i++;
+            } else if (b == '"') {
+                return i + 1;
+            }
+        }
+        throw error("Unterminated string", i);
+    }
+
+    /**
+     * 跳过任意JSON值，返回值之后的位置
+     */
+    private int skipValue(int i) {
+        if (i >= end) {
+            throw error("Expected value", i);
+        }
+        byte b = src[i];
+        if (b == '"') {
+            return skipString(i);
+        }
+        if (b == '{' || b == '[') {
+            int depth = 0;
+            while (i < end) {
+                b = src[i];
+                if (b == '"') {
+                    i = skipString(i);
+                    continue;
+                }
+                if (b == '{' || b == '[') {
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    if (--depth == 0) {
+                        return i + 1;
+                    }
+                }
+                i++;
+            }
+            throw error("Unterminated structure", i);
+        }
+
+        int valueStart = i;
+        while (i < end) {
+            b = src[i];
+            if (b == ',' || b == '}' || b == ']' || b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+                break;
+            }
+            i++;
+        }
+        if (i == valueStart) {
+            throw error("Expected value", i);
+        }
+        return i;
+    }
+
+    private IllegalStateException error(String reason, int offset) {
+        return new IllegalStateException("Occurring an exception during json parsing! " + reason + " at offset " + (offset - start) + ".");
+    }
+}
@@ -1,26 +1,43 @@
 package com.iakuil.toolkit;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.lang.reflect.Array;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 /**
  * Map链式Builder
  *
- * <p>Value为Null、空字符串、空数组、空集合、空Map等时会被过滤掉
+ * <p>Value为Null、空字符串、空数组、空集合、空Map等时会被过滤掉，过滤在添加Entry时完成。
+ * <p>Iterator、Enumeration等惰性数据源不会被消费，始终视为非空；
+ * 其他类型可通过{@link #registerEmptyRule(Class, Predicate)}注册判空规则，例如Optional。
+ * <p>条目较少时可通过{@link #buildCompact()}构建基于数组的不可变Map。
  *
  * @author Kai
  */
 public class MapBuilder {
+    private static final Predicate<Object> NEVER_EMPTY = obj -> false;
+    private static volatile EmptyRules RULES = new EmptyRules(Collections.emptyMap());
+
     private final Map<String, Object> tmp;
 
     private MapBuilder() {
         this.tmp = new LinkedHashMap<>();
     }
 
+    private MapBuilder(int expectedSize) {
+        this.tmp = new LinkedHashMap<>(capacity(expectedSize));
+    }
+
     private MapBuilder(Map<String, Object> map) {
-        this();
-        this.tmp.putAll(map);
+        this(map.size());
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
     }
 
     /**
@@ -32,6 +49,19 @@ public class MapBuilder {
         return new MapBuilder();
     }
 
+    /**
+     * 带容量提示的初始化方法
+     *
+     * @param expectedSize 预计的Entry数量
+     * @return MapBuilder对象
+     */
+    public static MapBuilder create(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative!");
+        }
+        return new MapBuilder(expectedSize);
+    }
+
     /**
      * 带初始值的初始化方法
      *
@@ -42,25 +72,119 @@ public class MapBuilder {
         return map == null ? new MapBuilder() : new MapBuilder(map);
     }
 
+    /**
+     * 注册自定义判空规则，对该类型及其子类型生效，优先于内置规则
+     *
+     * <p>判空规则按值的实际类型缓存，应在启动时注册。
+     *
+     * @param <T>  值类型
+     * @param type 值类型
+     * @param rule 判空规则，返回true表示为空
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized <T> void registerEmptyRule(Class<T> type, Predicate<? super T> rule) {
+        Objects.requireNonNull(type, "Type must not be null!");
+        Objects.requireNonNull(rule, "Rule must not be null!");
+
+        Map<Class<?>, Predicate<Object>> rules = new LinkedHashMap<>(RULES.custom);
+        rules.put(type, (Predicate<Object>) rule);
+        // 自定义规则与缓存一起整体替换，并发查找最多写入被丢弃的旧缓存
+        RULES = new EmptyRules(rules);
+    }
+
+    /**
+     * 清除全部自定义判空规则，仅用于测试
+     */
+    static synchronized void resetEmptyRules() {
+        RULES = new EmptyRules(Collections.emptyMap());
+    }
+
     /**
      * 构建Map对象
      *
      * @return 最终Map对象
      */
     public Map<String, Object> build() {
-        removeEmptyEntry();
         return this.tmp;
     }
 
     /**
-     * 添加Entry
+     * 构建基于数组的不可变Map
+     *
+     * <p>按插入顺序保存，查找为线性扫描，适用于3~15个Entry的小Map，内存与查找开销均低于LinkedHashMap。
+     *
+     * @return 不可变Map对象
+     */
+    public Map<String, Object> buildCompact() {
+        int size = this.tmp.size();
+        if (size == 0) {
+            return Collections.emptyMap();
+        }
+
+        String[] keys = new String[size];
+        Object[] values = new Object[size];
+        int i = 0;
+        for (Map.Entry<String, Object> entry : this.tmp.entrySet()) {
+            keys[i] = entry.getKey();
+            values[i++] = entry.getValue();
+        }
+        return new CompactMap(keys, values);
+    }
+
+    /**
+     * 将Entry直接写入JSON生成器，不生成中间Map
+     *
+     * @param generator Jackson JSON生成器
+     * @throws IOException 写入失败
+     */
+    public void writeJson(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        for (Map.Entry<String, Object> entry : this.tmp.entrySet()) {
+            generator.writeFieldName(entry.getKey());
+            generator.writeObject(entry.getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * 将Entry直接序列化为JSON
+     *
+     * @return JSON数据
+     */
+    public String toJson() {
+        StringWriter writer = new StringWriter(this.tmp.size() << 4);
+        try (JsonGenerator generator = JsonUtils.mapper().getFactory().createGenerator(writer)) {
+            writeJson(generator);
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during object parsing!", e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 将Entry直接写入JavaBean，使用按类型缓存的BeanMap，没有对应属性的Entry被忽略
+     *
+     * @param <T>   JavaBean类型
+     * @param clazz 目标类型
+     * @return 指定类型的JavaBean
+     */
+    public <T> T toBean(Class<T> clazz) {
+        return BeanMapUtils.mapToBean(this.tmp, clazz);
+    }
+
+    /**
+     * 添加Entry，空值会移除已有的同名Entry
      *
      * @param key   Map key
      * @param value Map value
      * @return MapBuilder对象
      */
     public MapBuilder put(String key, Object value) {
-        this.tmp.put(key, value);
+        if (isEmptyOrNull(value)) {
+            this.tmp.remove(key);
+        } else {
+            this.tmp.put(key, value);
+        }
         return this;
     }
 
@@ -83,42 +207,151 @@ public class MapBuilder {
      * @return MapBuilder对象
      */
     public MapBuilder rename(String oldName, String newName) {
-        Object v = this.tmp.get(oldName);
-        this.tmp.remove(oldName);
-        this.tmp.put(newName, v);
+        Object v = this.tmp.remove(oldName);
+        if (v == null) {
+            // 原key不存在时新key同样为空值
+            this.tmp.remove(newName);
+        } else {
+            this.tmp.put(newName, v);
+        }
         return this;
     }
 
-    private void removeEmptyEntry() {
-        this.tmp.entrySet().removeIf(entry -> isEmptyOrNull(entry.getValue()));
+    private static int capacity(int expectedSize) {
+        return expectedSize < 3 ? expectedSize + 1 : (int) (expectedSize / 0.75f + 1.0f);
     }
 
-    private boolean isEmptyOrNull(Object obj) {
+    private static boolean isEmptyOrNull(Object obj) {
         if (obj == null) {
             return true;
-        } else if (obj instanceof String) {
-            return ((String) obj).isEmpty();
-        } else if (obj instanceof Collection<?>) {
-            return ((Collection<?>) obj).isEmpty();
-        } else if (obj instanceof Iterable<?>) {
-            Iterable<?> iterable = (Iterable<?>) obj;
-            Iterator<?> iterator = iterable.iterator();
-            return !iterator.hasNext();
-        } else if (obj instanceof Map<?, ?>) {
-            return ((Map<?, ?>) obj).isEmpty();
-        } else if (obj instanceof Object[]) {
-            return ((Object[]) obj).length == 0;
-        } else if (obj instanceof Iterator<?>) {
-            return !((Iterator<?>) obj).hasNext();
-        } else if (obj instanceof Enumeration<?>) {
-            return !((Enumeration<?>) obj).hasMoreElements();
-        } else {
-            try {
-                return Array.getLength(obj) == 0;
-            } catch (final IllegalArgumentException ex) {
-                // Unsupported object type.
-                return false;
+        }
+
+        Class<?> clazz = obj.getClass();
+        EmptyRules rules = RULES;
+        Predicate<Object> rule = rules.cache.get(clazz);
+        if (rule == null) {
+            rule = resolveRule(rules.custom, clazz);
+            Predicate<Object> existing = rules.cache.putIfAbsent(clazz, rule);
+            if (existing != null) {
+                rule = existing;
             }
         }
+        return rule.test(obj);
+    }
+
+    private static Predicate<Object> resolveRule(Map<Class<?>, Predicate<Object>> customRules, Class<?> clazz) {
+        Predicate<Object> rule = customRules.get(clazz);
+        if (rule != null) {
+            return rule;
+        }
+        for (Map.Entry<Class<?>, Predicate<Object>> entry : customRules.entrySet()) {
+            if (entry.getKey().isAssignableFrom(clazz)) {
+                return entry.getValue();
+            }
+        }
+
+        if (clazz == String.class) {
+            return obj -> ((String) obj).isEmpty();
+        } else if (Collection.class.isAssignableFrom(clazz)) {
+            return obj -> ((Collection<?>) obj).isEmpty();
+        } else if (Map.class.isAssignableFrom(clazz)) {
+            return obj -> ((Map<?, ?>) obj).isEmpty();
+        } else if (Object[].class.isAssignableFrom(clazz)) {
+            return obj -> ((Object[]) obj).length == 0;
+        } else if (clazz.isArray()) {
+            return obj -> Array.getLength(obj) == 0;
+        }
+
+        // Iterator、Enumeration以及非Collection的Iterable可能是惰性数据源，判断是否为空会消费数据，因此不做过滤
+        return NEVER_EMPTY;
+    }
+
+    /**
+     * 基于数组的不可变Map
+     */
+    private static final class CompactMap extends AbstractMap<String, Object> {
+        private final String[] keys;
+        private final Object[] values;
+
+        private CompactMap(String[] keys, Object[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public Object get(Object key) {
+            int i = indexOf(key);
+            return i < 0 ? null : values[i];
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<Entry<String, Object>>() {
+                        private int i;
+
+                        @Override
+                        public boolean hasNext() {
+                            return i < keys.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (i >= keys.length) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<String, Object> entry = new SimpleImmutableEntry<>(keys[i], values[i]);
+                            i++;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+            };
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return i;
+                }
+            }
+            if (key != null) {
+                for (int i = 0; i < keys.length; i++) {
+                    if (key.equals(keys[i])) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * 自定义判空规则及按实际类型解析出的规则缓存，注册新规则时整体替换
+     */
+    private static final class EmptyRules {
+        private final Map<Class<?>, Predicate<Object>> custom;
+        private final Map<Class<?>, Predicate<Object>> cache = new ConcurrentHashMap<>();
+
+        EmptyRules(Map<Class<?>, Predicate<Object>> custom) {
+            this.custom = custom;
+        }
     }
 }
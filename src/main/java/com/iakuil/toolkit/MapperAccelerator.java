@@ -0,0 +1,55 @@
+package com.iakuil.toolkit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Jackson Mapper加速器
+ *
+ * <p>基于Blackbird模块，使用LambdaMetafactory为bean属性生成访问器，替代反射调用，兼容JDK 8。
+ * <p>默认关闭，通过系统属性{@code -Dez-toolkit.jackson.accelerated=true}开启；
+ * 模块注册失败时保留原有的反射模式。
+ *
+ * @author Kai
+ */
+final class MapperAccelerator {
+    static final String ACCELERATED_PROPERTY = "ez-toolkit.jackson.accelerated";
+
+    private MapperAccelerator() {
+    }
+
+    /**
+     * 是否开启了加速模式
+     *
+     * @return 开启返回true
+     */
+    static boolean isEnabled() {
+        return Boolean.getBoolean(ACCELERATED_PROPERTY);
+    }
+
+    /**
+     * 按系统属性为Mapper注册加速模块
+     *
+     * @param mapper Jackson Mapper
+     * @return 注册成功返回true，未开启或注册失败返回false
+     */
+    static boolean accelerateIfEnabled(ObjectMapper mapper) {
+        return isEnabled() && accelerate(mapper);
+    }
+
+    /**
+     * 为Mapper注册加速模块
+     *
+     * @param mapper Jackson Mapper
+     * @return 注册成功返回true，失败时Mapper保持反射模式并返回false
+     */
+    static boolean accelerate(ObjectMapper mapper) {
+        try {
+            mapper.registerModule(new BlackbirdModule());
+            return true;
+        } catch (LinkageError | RuntimeException e) {
+            // 运行环境不支持时退回反射模式
+            return false;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.iakuil.toolkit;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 工具包指标入口
+ *
+ * <p>默认关闭，启动参数{@code -Dez-toolkit.metrics.enabled=true}开启。
+ * 开关是常量，关闭时JIT会消除热点路径上的所有记录代码。
+ * <p>开启后通过{@link #setRecorder(MetricsRecorder)}安装记录器，例如{@link SimpleMetricsRecorder}；
+ * 缓存大小等Gauge始终注册，可通过{@link #gauges()}读取。
+ *
+ * @author Kai
+ */
+public final class Metrics {
+    /**
+     * 是否开启指标记录
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("ez-toolkit.metrics.enabled");
+
+    private static final Map<String, LongSupplier> GAUGES = new ConcurrentHashMap<>();
+    private static volatile MetricsRecorder recorder = MetricsRecorder.NOOP;
+
+    private Metrics() {
+    }
+
+    /**
+     * 安装指标记录器
+     *
+     * @param metricsRecorder 指标记录器
+     */
+    public static void setRecorder(MetricsRecorder metricsRecorder) {
+        recorder = Objects.requireNonNull(metricsRecorder, "Recorder must not be null!");
+    }
+
+    /**
+     * 当前的指标记录器
+     *
+     * @return 指标记录器
+     */
+    public static MetricsRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * 当前所有Gauge的值
+     *
+     * @return 按名称排序的Gauge快照
+     */
+    public static Map<String, Long> gauges() {
+        Map<String, Long> result = new TreeMap<>();
+        GAUGES.forEach((name, gauge) -> result.put(name, gauge.getAsLong()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * 单个Gauge的值
+     *
+     * @param name 指标名称
+     * @return Gauge的值，不存在时返回null
+     */
+    static Long gauge(String name) {
+        LongSupplier gauge = GAUGES.get(name);
+        return gauge == null ? null : gauge.getAsLong();
+    }
+
+    /**
+     * 注册Gauge，同名Gauge会被覆盖
+     *
+     * @param name  指标名称
+     * @param gauge 取值函数
+     */
+    static void registerGauge(String name, LongSupplier gauge) {
+        GAUGES.put(name, gauge);
+    }
+
+    /**
+     * 计时开始
+     *
+     * @return 开始时间，未开启时为0
+     */
+    static long start() {
+        return ENABLED ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * 计时结束并记录
+     *
+     * @param name  指标名称
+     * @param start {@link #start()}的返回值
+     */
+    static void stop(String name, long start) {
+        if (ENABLED) {
+            recorder.recordNanos(name, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 计数加一
+     *
+     * @param name 指标名称
+     */
+    static void increment(String name) {
+        if (ENABLED) {
+            recorder.increment(name, 1L);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.iakuil.toolkit;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 将工具包指标发布到JMX
+ *
+ * <p>注册为{@value #OBJECT_NAME}，属性在读取时实时计算：
+ * <ul>
+ *     <li>计数器：指标名称</li>
+ *     <li>耗时：指标名称加".count"、".meanNanos"、".p50Nanos"、".p99Nanos"、".maxNanos"后缀</li>
+ *     <li>缓存命中率：缓存前缀加".hitRate"后缀</li>
+ *     <li>Gauge：指标名称</li>
+ * </ul>
+ *
+ * @author Kai
+ */
+public final class MetricsJmx {
+    public static final String OBJECT_NAME = "com.iakuil.toolkit:type=Metrics";
+
+    private MetricsJmx() {
+    }
+
+    /**
+     * 注册到平台MBeanServer，已注册时先注销
+     *
+     * @param recorder 指标记录器
+     */
+    public static synchronized void register(SimpleMetricsRecorder recorder) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(new MetricsMBean(recorder), name);
+        } catch (JMException e) {
+            throw new IllegalStateException("Occurring an exception during mbean registering!", e);
+        }
+    }
+
+    /**
+     * 从平台MBeanServer注销
+     */
+    public static synchronized void unregister() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Occurring an exception during mbean unregistering!", e);
+        }
+    }
+
+    private static final class MetricsMBean implements DynamicMBean {
+        private final SimpleMetricsRecorder recorder;
+
+        private MetricsMBean(SimpleMetricsRecorder recorder) {
+            this.recorder = recorder;
+        }
+
+        private Map<String, Supplier<Object>> attributes() {
+            Map<String, Supplier<Object>> attributes = new LinkedHashMap<>();
+            for (String name : recorder.counters().keySet()) {
+                attributes.put(name, () -> recorder.counter(name));
+                if (name.endsWith(".hit")) {
+                    String prefix = name.substring(0, name.length() - ".hit".length());
+                    attributes.put(prefix + ".hitRate", () -> recorder.hitRate(prefix));
+                }
+            }
+            for (Map.Entry<String, LatencyHistogram> entry : recorder.histograms().entrySet()) {
+                String name = entry.getKey();
+                LatencyHistogram histogram = entry.getValue();
+                attributes.put(name + ".count", histogram::count);
+                attributes.put(name + ".meanNanos", histogram::mean);
+                attributes.put(name + ".p50Nanos", () -> histogram.percentile(50));
+                attributes.put(name + ".p99Nanos", () -> histogram.percentile(99));
+                attributes.put(name + ".maxNanos", histogram::max);
+            }
+            for (String name : Metrics.gauges().keySet()) {
+                attributes.put(name, () -> Metrics.gauges().get(name));
+            }
+            return attributes;
+        }
+
+        /**
+         * 只计算请求的单个属性，不构建完整的属性列表
+         */
+        private Object attribute(String name) {
+            Long gauge = Metrics.gauge(name);
+            if (gauge != null) {
+                return gauge;
+            }
+            int dot = name.lastIndexOf('.');
+            if (dot > 0) {
+                String prefix = name.substring(0, dot);
+                String suffix = name.substring(dot);
+                LatencyHistogram histogram = recorder.histogram(prefix);
+                if (histogram != null) {
+                    switch (suffix) {
+                        case ".count":
+                            return histogram.count();
+                        case ".meanNanos":
+                            return histogram.mean();
+                        case ".p50Nanos":
+                            return histogram.percentile(50);
+                        case ".p99Nanos":
+                            return histogram.percentile(99);
+                        case ".maxNanos":
+                            return histogram.max();
+                        default:
+                            break;
+                    }
+                }
+                if (".hitRate".equals(suffix) && recorder.hasCounter(prefix + ".hit")) {
+                    return recorder.hitRate(prefix);
+                }
+            }
+            return recorder.hasCounter(name) ? recorder.counter(name) : null;
+        }
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            Object value = attribute(attribute);
+            if (value == null) {
+                throw new AttributeNotFoundException(attribute);
+            }
+            return value;
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] names) {
+            AttributeList list = new AttributeList();
+            for (String name : names) {
+                Object value = attribute(name);
+                if (value != null) {
+                    list.add(new Attribute(name, value));
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("Metrics are read-only!");
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) throws MBeanException {
+            if ("reset".equals(actionName)) {
+                recorder.reset();
+                return null;
+            }
+            throw new MBeanException(new UnsupportedOperationException(actionName));
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            Map<String, Supplier<Object>> attributes = attributes();
+            MBeanAttributeInfo[] infos = new MBeanAttributeInfo[attributes.size()];
+            int i = 0;
+            for (Map.Entry<String, Supplier<Object>> entry : attributes.entrySet()) {
+                Object value = entry.getValue().get();
+                String type = value instanceof Double ? Double.class.getName() : Long.class.getName();
+                infos[i++] = new MBeanAttributeInfo(entry.getKey(), type, entry.getKey(), true, false, false);
+            }
+            MBeanOperationInfo reset = new MBeanOperationInfo("reset", "Reset counters and histograms",
+                new MBeanParameterInfo[0], "void", MBeanOperationInfo.ACTION);
+            return new MBeanInfo(SimpleMetricsRecorder.class.getName(), "Easy Tool Kit metrics", infos,
+                null, new MBeanOperationInfo[]{reset}, null);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.iakuil.toolkit;
+
+/**
+ * 工具包指标记录SPI
+ *
+ * <p>实现需要线程安全且不能阻塞，调用发生在工具方法的热点路径上。
+ * <p>只有启动参数{@code -Dez-toolkit.metrics.enabled=true}时才会被调用，见{@link Metrics}。
+ *
+ * @author Kai
+ */
+public interface MetricsRecorder {
+    /**
+     * 不做任何记录的默认实现
+     */
+    MetricsRecorder NOOP = new MetricsRecorder() {
+        @Override
+        public void increment(String name, long delta) {
+        }
+
+        @Override
+        public void recordNanos(String name, long nanos) {
+        }
+    };
+
+    /**
+     * 增加计数
+     *
+     * @param name  指标名称
+     * @param delta 增量
+     */
+    void increment(String name, long delta);
+
+    /**
+     * 记录一次耗时
+     *
+     * @param name  指标名称
+     * @param nanos 耗时，单位纳秒
+     */
+    void recordNanos(String name, long nanos);
+}
@@ -0,0 +1,110 @@
+package com.iakuil.toolkit;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 固定容量的对象池
+ *
+ * <p>配合{@link JsonUtils#readInto(String, Object)}和{@link XmlUtils#readInto(String, Object)}使用，
+ * 格式相同的消息反复读入池中的对象，稳态下几乎不再分配新的对象图：
+ * <pre>{@code
+ * ObjectPool<Quote> pool = ObjectPool.of(Quote.class, 64);
+ * Quote quote = JsonUtils.readInto(message, pool.borrow());
+ * ...
+ * pool.release(quote);
+ * }</pre>
+ * <p>池为空时新建对象，池满时丢弃归还的对象；借出的对象保留上次的内容，读入方法在读入前重置全部可写属性，
+ * 不经过读入方法直接使用时需要自行清理。
+ * <p>线程安全。
+ *
+ * @param <T> 对象类型
+ * @author Kai
+ */
+public final class ObjectPool<T> {
+    private final Supplier<? extends T> factory;
+    private final Object[] items;
+    private int size;
+
+    private ObjectPool(Supplier<? extends T> factory, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive!");
+        }
+        this.factory = Objects.requireNonNull(factory, "Factory must not be null!");
+        this.items = new Object[capacity];
+    }
+
+    /**
+     * 使用无参构造方法创建对象的池
+     *
+     * @param <T>      对象类型
+     * @param clazz    对象类型
+     * @param capacity 容量
+     * @return 对象池
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ObjectPool<T> of(Class<T> clazz, int capacity) {
+        Objects.requireNonNull(clazz, "Class must not be null!");
+        BeanAccessor accessor = BeanMapUtils.accessorOf(clazz);
+        return new ObjectPool<>(() -> (T) accessor.newInstance(), capacity);
+    }
+
+    /**
+     * 使用指定工厂创建对象的池
+     *
+     * @param <T>      对象类型
+     * @param factory  对象工厂
+     * @param capacity 容量
+     * @return 对象池
+     */
+    public static <T> ObjectPool<T> of(Supplier<? extends T> factory, int capacity) {
+        return new ObjectPool<>(factory, capacity);
+    }
+
+    /**
+     * 借出对象，池为空时新建
+     *
+     * @return 对象
+     */
+    @SuppressWarnings("unchecked")
+    public T borrow() {
+        synchronized (this) {
+            if (size > 0) {
+                T item = (T) items[--size];
+                items[size] = null;
+                Metrics.increment("pool.hit");
+                return item;
+            }
+        }
+        Metrics.increment("pool.miss");
+        return factory.get();
+    }
+
+    /**
+     * 归还对象，池满时丢弃
+     *
+     * @param item 对象，null将被忽略
+     * @return 被池接收时返回true
+     */
+    public boolean release(T item) {
+        if (item == null) {
+            return false;
+        }
+        synchronized (this) {
+            if (size < items.length) {
+                items[size++] = item;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 池中空闲的对象数量
+     *
+     * @return 空闲数量
+     */
+    public synchronized int size() {
+        return size;
+    }
+}
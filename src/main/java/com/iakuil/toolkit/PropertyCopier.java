@@ -0,0 +1,20 @@
+package com.iakuil.toolkit;
+
+/**
+ * 两个类型之间编译好的属性复制器
+ *
+ * <p>只复制名称相同且类型完全一致的属性，由{@link AccessorBackend#copier(Class, Class)}创建。
+ * <p>实现需要线程安全。
+ *
+ * @author Kai
+ */
+@FunctionalInterface
+public interface PropertyCopier {
+    /**
+     * 复制属性
+     *
+     * @param from 源对象
+     * @param to   目标对象
+     */
+    void copy(Object from, Object to);
+}
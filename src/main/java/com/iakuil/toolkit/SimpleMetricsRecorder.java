@@ -0,0 +1,109 @@
+package com.iakuil.toolkit;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 基于内存的指标记录器
+ *
+ * <p>计数器使用{@link LongAdder}，耗时使用{@link LatencyHistogram}，记录过程无锁。
+ * <p>可通过{@link MetricsJmx#register(SimpleMetricsRecorder)}发布到JMX。
+ *
+ * @author Kai
+ */
+public class SimpleMetricsRecorder implements MetricsRecorder {
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    @Override
+    public void increment(String name, long delta) {
+        LongAdder counter = counters.get(name);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(name, key -> new LongAdder());
+        }
+        counter.add(delta);
+    }
+
+    @Override
+    public void recordNanos(String name, long nanos) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+        }
+        histogram.record(nanos);
+    }
+
+    /**
+     * 计数器的值
+     *
+     * @param name 指标名称
+     * @return 计数，不存在时为0
+     */
+    public long counter(String name) {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * 计数器是否存在
+     *
+     * @param name 指标名称
+     * @return 已记录过时返回true
+     */
+    boolean hasCounter(String name) {
+        return counters.containsKey(name);
+    }
+
+    /**
+     * 所有计数器的值
+     *
+     * @return 按名称排序的计数器快照
+     */
+    public Map<String, Long> counters() {
+        Map<String, Long> result = new TreeMap<>();
+        counters.forEach((name, counter) -> result.put(name, counter.sum()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * 耗时直方图
+     *
+     * @param name 指标名称
+     * @return 直方图，不存在时返回null
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.get(name);
+    }
+
+    /**
+     * 所有耗时直方图
+     *
+     * @return 按名称排序的直方图
+     */
+    public Map<String, LatencyHistogram> histograms() {
+        return Collections.unmodifiableMap(new TreeMap<>(histograms));
+    }
+
+    /**
+     * 缓存命中率，基于"{prefix}.hit"与"{prefix}.miss"两个计数器
+     *
+     * @param prefix 缓存指标前缀，例如"bean.copier"
+     * @return 命中率，没有访问时为0
+     */
+    public double hitRate(String prefix) {
+        long hit = counter(prefix + ".hit");
+        long total = hit + counter(prefix + ".miss");
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    /**
+     * 清空所有指标
+     */
+    public void reset() {
+        counters.values().forEach(LongAdder::reset);
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+}
@@ -0,0 +1,115 @@
+package com.iakuil.toolkit;
+
+import net.sf.cglib.core.NamingPolicy;
+import net.sf.cglib.core.Predicate;
+import net.sf.cglib.core.ReflectUtils;
+
+import java.beans.PropertyDescriptor;
+
+/**
+ * 稳定的cglib类命名策略
+ *
+ * <p>cglib默认按Key的hashCode命名生成类，而Key中的Class使用对象标识哈希，每次启动都不同，
+ * 导致预先生成的类无法被{@link net.sf.cglib.core.AbstractClassGenerator#setAttemptLoad(boolean)}命中。
+ * <p>这里改为按类名和属性签名计算指纹：同一份代码每次得到相同类名，bean属性变化后类名随之变化，
+ * 过期的预生成类不会被误用，而是回退到运行时生成。
+ *
+ * @author Kai
+ */
+final class StableNamingPolicy implements NamingPolicy {
+    private static final String TAG = "ByEzToolkit";
+
+    private final String kind;
+    private final String fingerprint;
+    private final String defaultPrefix;
+
+    private StableNamingPolicy(String kind, String signature, Class<?> owner) {
+        this.kind = kind;
+        this.fingerprint = Long.toHexString(fnv1a(signature));
+        this.defaultPrefix = owner.getName();
+    }
+
+    /**
+     * BeanCopier的命名策略，指纹由源类型的可读属性和目标类型的可写属性组成
+     *
+     * @param from 源类型
+     * @param to   目标类型
+     * @return 命名策略
+     */
+    static StableNamingPolicy forCopier(Class<?> from, Class<?> to) {
+        StringBuilder signature = new StringBuilder(from.getName()).append('>').append(to.getName());
+        appendProperties(signature, ReflectUtils.getBeanGetters(from));
+        appendProperties(signature, ReflectUtils.getBeanSetters(to));
+        return new StableNamingPolicy("BeanCopier", signature.toString(), from);
+    }
+
+    /**
+     * BeanMap的命名策略，指纹由类型的全部属性组成
+     *
+     * @param clazz JavaBean类型
+     * @return 命名策略
+     */
+    static StableNamingPolicy forBeanMap(Class<?> clazz) {
+        StringBuilder signature = new StringBuilder(clazz.getName());
+        appendProperties(signature, ReflectUtils.getBeanProperties(clazz));
+        return new StableNamingPolicy("BeanMap", signature.toString(), clazz);
+    }
+
+    /**
+     * 是否是本策略生成的类名或类文件名
+     *
+     * @param name 类名或类文件名
+     * @return 按本策略命名时返回true
+     */
+    static boolean isStableName(String name) {
+        return name.contains(TAG + "$$");
+    }
+
+    @Override
+    public String getClassName(String prefix, String source, Object key, Predicate names) {
+        // 未指定前缀时放在所属类型的包下，而不是cglib的公共包，便于随所属模块一起打包
+        if (prefix == null) {
+            prefix = defaultPrefix;
+        }
+        if (prefix.startsWith("java")) {
+            prefix = "$" + prefix;
+        }
+
+        String base = prefix + "$$" + kind + TAG + "$$" + fingerprint;
+        String name = base;
+        for (int i = 2; names.evaluate(name); i++) {
+            name = base + "_" + i;
+        }
+        return name;
+    }
+
+    private static void appendProperties(StringBuilder signature, PropertyDescriptor[] properties) {
+        signature.append('[');
+        for (PropertyDescriptor property : properties) {
+            Class<?> type = property.getPropertyType();
+            signature.append(property.getName()).append(':').append(type == null ? "?" : type.getName()).append(';');
+        }
+        signature.append(']');
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof StableNamingPolicy
+            && kind.equals(((StableNamingPolicy) o).kind)
+            && fingerprint.equals(((StableNamingPolicy) o).fingerprint);
+    }
+
+    @Override
+    public int hashCode() {
+        return kind.hashCode() * 31 + fingerprint.hashCode();
+    }
+}
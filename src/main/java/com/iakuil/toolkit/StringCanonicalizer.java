@@ -0,0 +1,231 @@
+package com.iakuil.toolkit;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 反序列化时的字符串规范化表
+ *
+ * <p>批量反序列化时，状态码、国家、币种等取值很少的字符串字段会产生大量内容相同的String实例。
+ * 注册{@link #module()}后，指定字段或不超过指定长度的全部字符串直接按解析器的字符缓冲区查表，
+ * 命中时返回同一个实例，不再创建新的String。
+ * <p>表的容量固定，两路组相联，冲突时覆盖旧值，因此内存占用有上限，取值很多的字段只会降低命中率。
+ * 命中和未命中计入{@code json.canonical.hit}/{@code json.canonical.miss}指标。
+ * <p>通过Profile启用，例如：
+ * <pre>{@code
+ * JsonUtils.registerProfile("bulk", mapper -> mapper.registerModule(StringCanonicalizer.forShortStrings(32).module()));
+ * List<Order> orders = JsonUtils.profile("bulk").json2List(json, Order.class);
+ * }</pre>
+ * <p>线程安全。
+ *
+ * @author Kai
+ */
+public final class StringCanonicalizer {
+    private static final int DEFAULT_CAPACITY = 4096;
+
+    private final Set<String> fields;
+    private final int maxLength;
+    private final AtomicReferenceArray<String> table;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private StringCanonicalizer(Set<String> fields, int maxLength, int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2!");
+        }
+        this.fields = fields;
+        this.maxLength = maxLength;
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.table = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * 只规范化指定名称的属性，包括这些属性中集合的元素
+     *
+     * @param fields 属性名称
+     * @return 规范化表
+     */
+    public static StringCanonicalizer forFields(String... fields) {
+        if (fields == null || fields.length == 0) {
+            throw new IllegalArgumentException("Fields must not be empty!");
+        }
+        return new StringCanonicalizer(Collections.unmodifiableSet(new HashSet<>(Arrays.asList(fields))), Integer.MAX_VALUE, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 规范化所有不超过指定长度的字符串，包括Map和List中的值
+     *
+     * @param maxLength 最大长度
+     * @return 规范化表
+     */
+    public static StringCanonicalizer forShortStrings(int maxLength) {
+        if (maxLength <= 0) {
+            throw new IllegalArgumentException("Max length must be positive!");
+        }
+        return new StringCanonicalizer(null, maxLength, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 使用指定容量创建新的规范化表，其他配置不变
+     *
+     * @param capacity 容量，向上取2的幂，默认4096
+     * @return 新的规范化表
+     */
+    public StringCanonicalizer withCapacity(int capacity) {
+        return new StringCanonicalizer(fields, maxLength, capacity);
+    }
+
+    /**
+     * Jackson模块，注册后替换String的反序列化器
+     *
+     * @return Jackson模块
+     */
+    public Module module() {
+        SimpleModule module = new SimpleModule("StringCanonicalizer");
+        module.addDeserializer(String.class, new CanonicalStringDeserializer(this, fields == null));
+        return module;
+    }
+
+    /**
+     * 规范化字符串
+     *
+     * @param value 字符串
+     * @return 内容相同的共享实例
+     */
+    public String canonicalize(String value) {
+        if (value == null || value.length() > maxLength) {
+            return value;
+        }
+        return canonicalize(value.toCharArray(), 0, value.length(), value);
+    }
+
+    /**
+     * 命中次数
+     *
+     * @return 命中次数
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * 未命中次数，即新创建的String数量
+     *
+     * @return 未命中次数
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * 去重比例
+     *
+     * @return 命中次数占查表次数的比例，没有查表时为0
+     */
+    public double getDedupRatio() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    private String canonicalize(char[] chars, int offset, int length, String value) {
+        int hash = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        // 与HashMap相同的扰动，两路共用一组相邻的槽位
+        int index = (hash ^ (hash >>> 16)) & mask & ~1;
+        String first = table.get(index);
+        if (matches(first, chars, offset, length)) {
+            return hit(first);
+        }
+        String second = table.get(index + 1);
+        if (matches(second, chars, offset, length)) {
+            return hit(second);
+        }
+
+        String created = value != null ? value : new String(chars, offset, length);
+        // 新值放在第一路，原第一路降到第二路，近似LRU
+        table.lazySet(index + 1, first);
+        table.lazySet(index, created);
+        misses.increment();
+        Metrics.increment("json.canonical.miss");
+        return created;
+    }
+
+    private String hit(String value) {
+        hits.increment();
+        Metrics.increment("json.canonical.hit");
+        return value;
+    }
+
+    private static boolean matches(String candidate, char[] chars, int offset, int length) {
+        if (candidate == null || candidate.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (candidate.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按属性决定是否规范化的String反序列化器
+     */
+    private static final class CanonicalStringDeserializer extends StdScalarDeserializer<String> implements ContextualDeserializer {
+        private final StringCanonicalizer canonicalizer;
+        private final boolean enabled;
+
+        CanonicalStringDeserializer(StringCanonicalizer canonicalizer, boolean enabled) {
+            super(String.class);
+            this.canonicalizer = canonicalizer;
+            this.enabled = enabled;
+        }
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) {
+            if (canonicalizer.fields == null) {
+                return this;
+            }
+            boolean configured = property != null && canonicalizer.fields.contains(property.getName());
+            return configured == enabled ? this : new CanonicalStringDeserializer(canonicalizer, configured);
+        }
+
+        @Override
+        public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!enabled || !p.hasToken(JsonToken.VALUE_STRING)) {
+                return StringDeserializer.instance.deserialize(p, ctxt);
+            }
+            int length = p.getTextLength();
+            if (length > canonicalizer.maxLength) {
+                return p.getText();
+            }
+            return canonicalizer.canonicalize(p.getTextCharacters(), p.getTextOffset(), length, null);
+        }
+
+        @Override
+        public boolean isCachable() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,528 @@
+package com.iakuil.toolkit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * XML与JSON直接转换器
+ *
+ * <p>在StAX事件流与Jackson Token流之间单遍转换，不构建javabean或树形中间结构。
+ * <p>XML转JSON规则：
+ * <ul>
+ *     <li>属性转换为带前缀的字段，默认前缀为"@"</li>
+ *     <li>同时存在属性或子元素时，文本内容转换为名为"#text"的字段</li>
+ *     <li>连续的同名元素转换为数组，{@link #arrayElements(String...)}指定的元素始终转换为数组</li>
+ * </ul>
+ * <p>JSON转XML时字段名必须是合法的XML名称（不含冒号），否则抛出异常；空数组输出为一个同名的空元素，
+ * 嵌套数组使用{@link #itemName(String)}包装。
+ * <p>判断元素是否重复需要缓存第一个同名元素，缓存超过{@link #bufferLimit(int)}个Token后直接输出，
+ * 后续的同名元素将输出为重复字段，因此大型重复元素应通过{@link #arrayElements(String...)}声明。
+ * <p>实例不可变，线程安全。
+ *
+ * @author Kai
+ */
+public final class XmlJsonTranscoder {
+    private static final XmlJsonTranscoder DEFAULT = new XmlJsonTranscoder("@", "#text", Collections.emptySet(), "root", "item", false, 4096);
+
+    private final String attributePrefix;
+    private final String textName;
+    private final Set<String> arrayElements;
+    private final String rootName;
+    private final String itemName;
+    private final boolean keepRoot;
+    private final int bufferLimit;
+
+    private XmlJsonTranscoder(String attributePrefix, String textName, Set<String> arrayElements,
+                              String rootName, String itemName, boolean keepRoot, int bufferLimit) {
+        this.attributePrefix = attributePrefix;
+        this.textName = textName;
+        this.arrayElements = arrayElements;
+        this.rootName = rootName;
+        this.itemName = itemName;
+        this.keepRoot = keepRoot;
+        this.bufferLimit = bufferLimit;
+    }
+
+    /**
+     * 使用默认配置创建
+     *
+     * @return 转换器
+     */
+    public static XmlJsonTranscoder create() {
+        return DEFAULT;
+    }
+
+    /**
+     * 设置属性字段前缀
+     *
+     * @param attributePrefix 属性前缀，默认"@"
+     * @return 新的转换器
+     */
+    public XmlJsonTranscoder attributePrefix(String attributePrefix) {
+        Objects.requireNonNull(attributePrefix, "Attribute prefix must not be null!");
+        return new XmlJsonTranscoder(attributePrefix, textName, arrayElements, rootName, itemName, keepRoot, bufferLimit);
+    }
+
+    /**
+     * 设置文本内容字段名
+     *
+     * @param textName 文本字段名，默认"#text"
+     * @return 新的转换器
+     */
+    public XmlJsonTranscoder textName(String textName) {
+        Objects.requireNonNull(textName, "Text name must not be null!");
+        return new XmlJsonTranscoder(attributePrefix, textName, arrayElements, rootName, itemName, keepRoot, bufferLimit);
+    }
+
+    /**
+     * 声明始终转换为数组的元素，这些元素不做缓存
+     *
+     * @param names 元素名称
+     * @return 新的转换器
+     */
+    public XmlJsonTranscoder arrayElements(String... names) {
+        Set<String> elements = new HashSet<>(arrayElements);
+        elements.addAll(Arrays.asList(names));
+        return new XmlJsonTranscoder(attributePrefix, textName, Collections.unmodifiableSet(elements), rootName, itemName, keepRoot, bufferLimit);
+    }
+
+    /**
+     * 设置JSON转XML时的根元素名称
+     *
+     * @param rootName 根元素名称，默认"root"
+     * @return 新的转换器
+     */
+    public XmlJsonTranscoder rootName(String rootName) {
+        Objects.requireNonNull(rootName, "Root name must not be null!");
+        return new XmlJsonTranscoder(attributePrefix, textName, arrayElements, rootName, itemName, keepRoot, bufferLimit);
+    }
+
+    /**
+     * 设置JSON转XML时数组元素的名称，用于顶层数组及嵌套数组
+     *
+     * @param itemName 数组元素名称，默认"item"
+     * @return 新的转换器
+     */
+    public XmlJsonTranscoder itemName(String itemName) {
+        Objects.requireNonNull(itemName, "Item name must not be null!");
+        return new XmlJsonTranscoder(attributePrefix, textName, arrayElements, rootName, itemName, keepRoot, bufferLimit);
+    }
+
+    /**
+     * 是否保留根元素
+     *
+     * <p>开启后XML根元素作为JSON顶层对象的唯一字段，JSON顶层对象的唯一字段作为XML根元素。
+     *
+     * @param keepRoot 是否保留，默认false
+     * @return 新的转换器
+     */
+    public XmlJsonTranscoder keepRoot(boolean keepRoot) {
+        return new XmlJsonTranscoder(attributePrefix, textName, arrayElements, rootName, itemName, keepRoot, bufferLimit);
+    }
+
+    /**
+     * 设置判断重复元素时单个元素的最大缓存Token数
+     *
+     * @param bufferLimit 最大缓存Token数，默认4096
+     * @return 新的转换器
+     */
+    public XmlJsonTranscoder bufferLimit(int bufferLimit) {
+        if (bufferLimit < 0) {
+            throw new IllegalArgumentException("Buffer limit must not be negative!");
+        }
+        return new XmlJsonTranscoder(attributePrefix, textName, arrayElements, rootName, itemName, keepRoot, bufferLimit);
+    }
+
+    /**
+     * XML转换为JSON
+     *
+     * @param xml XML字符串
+     * @return JSON字符串
+     */
+    public String xml2Json(String xml) {
+        if (xml == null) {
+            return null;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(xml.length());
+        xml2Json(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * XML流转换为UTF-8编码的JSON流
+     *
+     * <p>输入输出流均不会被关闭。
+     *
+     * @param xmlIs  XML流
+     * @param jsonOs JSON输出流
+     */
+    public void xml2Json(InputStream xmlIs, OutputStream jsonOs) {
+        XMLInputFactory inputFactory = XmlUtils.mapper().getFactory().getXMLInputFactory();
+        JsonFactory jsonFactory = JsonUtils.mapper().getFactory();
+        XMLStreamReader reader = null;
+        try (JsonGenerator generator = jsonFactory.createGenerator(jsonOs).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            reader = inputFactory.createXMLStreamReader(xmlIs);
+            while (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                // 跳过XML声明、注释等根元素之前的内容
+            }
+            if (keepRoot) {
+                generator.writeStartObject();
+                generator.writeFieldName(reader.getLocalName());
+                writeElement(reader, generator);
+                generator.writeEndObject();
+            } else {
+                writeElement(reader, generator);
+            }
+        } catch (XMLStreamException | IOException | NoSuchElementException e) {
+            throw new IllegalStateException("Occurring an exception during xml parsing!", e);
+        } finally {
+            closeQuietly(reader);
+        }
+    }
+
+    /**
+     * JSON转换为XML
+     *
+     * @param json JSON字符串
+     * @return XML字符串
+     */
+    public String json2Xml(String json) {
+        if (json == null) {
+            return null;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length() << 1);
+        json2Xml(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * JSON流转换为UTF-8编码的XML流
+     *
+     * <p>输入输出流均不会被关闭。
+     *
+     * @param jsonIs JSON流
+     * @param xmlOs  XML输出流
+     */
+    public void json2Xml(InputStream jsonIs, OutputStream xmlOs) {
+        XMLOutputFactory outputFactory = XmlUtils.mapper().getFactory().getXMLOutputFactory();
+        JsonFactory jsonFactory = JsonUtils.mapper().getFactory();
+        XMLStreamWriter writer = null;
+        try (JsonParser parser = jsonFactory.createParser(jsonIs).disable(JsonParser.Feature.AUTO_CLOSE_SOURCE)) {
+            writer = outputFactory.createXMLStreamWriter(xmlOs, "UTF-8");
+            writer.writeStartDocument("UTF-8", "1.0");
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new IllegalStateException("Occurring an exception during json parsing! No content.");
+            }
+            if (keepRoot && token == JsonToken.START_OBJECT) {
+                if (parser.nextToken() != JsonToken.FIELD_NAME) {
+                    throw new IllegalStateException("Occurring an exception during json parsing! Root object must have exactly one field.");
+                }
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                writeValue(parser, writer, name);
+                if (parser.nextToken() != JsonToken.END_OBJECT) {
+                    throw new IllegalStateException("Occurring an exception during json parsing! Root object must have exactly one field.");
+                }
+            } else if (token == JsonToken.START_ARRAY) {
+                writer.writeStartElement(checkName(rootName));
+                writeArray(parser, writer, itemName);
+                writer.writeEndElement();
+            } else {
+                writeValue(parser, writer, rootName);
+            }
+            writer.writeEndDocument();
+            writer.flush();
+        } catch (XMLStreamException | IOException e) {
+            throw new IllegalStateException("Occurring an exception during json parsing!", e);
+        } finally {
+            closeQuietly(writer);
+        }
+    }
+
+    /**
+     * 写出当前元素，调用时reader位于START_ELEMENT，返回时位于对应的END_ELEMENT
+     */
+    private void writeElement(XMLStreamReader reader, JsonGenerator generator) throws XMLStreamException, IOException {
+        boolean object = false;
+        int attributes = reader.getAttributeCount();
+        if (attributes > 0) {
+            generator.writeStartObject();
+            object = true;
+            for (int i = 0; i < attributes; i++) {
+                generator.writeFieldName(attributePrefix + reader.getAttributeLocalName(i));
+                generator.writeString(reader.getAttributeValue(i));
+            }
+        }
+
+        StringBuilder text = null;
+        String current = null;
+        PendingGenerator pending = null;
+        boolean inArray = false;
+        while (true) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    if (!object) {
+                        generator.writeStartObject();
+                        object = true;
+                    }
+                    String name = reader.getLocalName();
+                    if (name.equals(current)) {
+                        if (pending != null && !pending.committed) {
+                            pending.flushAsArray();
+                            inArray = true;
+                        } else if (!inArray) {
+                            // 第一个元素过大已直接输出，只能退化为重复字段
+                            generator.writeFieldName(name);
+                        }
+                        pending = null;
+                        writeElement(reader, generator);
+                    } else {
+                        closeSibling(generator, pending, inArray);
+                        current = name;
+                        pending = null;
+                        inArray = arrayElements.contains(name);
+                        if (inArray) {
+                            generator.writeFieldName(name);
+                            generator.writeStartArray();
+                            writeElement(reader, generator);
+                        } else {
+                            pending = new PendingGenerator(generator, name, bufferLimit);
+                            writeElement(reader, pending);
+                        }
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (text == null) {
+                        text = new StringBuilder();
+                    }
+                    text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    closeSibling(generator, pending, inArray);
+                    String value = text == null ? "" : text.toString();
+                    if (object) {
+                        if (!value.trim().isEmpty()) {
+                            generator.writeFieldName(textName);
+                            generator.writeString(value);
+                        }
+                        generator.writeEndObject();
+                    } else {
+                        generator.writeString(value);
+                    }
+                    return;
+                default:
+                    // 忽略注释、处理指令等
+            }
+        }
+    }
+
+    private static void closeSibling(JsonGenerator generator, PendingGenerator pending, boolean inArray) throws IOException {
+        if (pending != null) {
+            pending.flushAsField();
+        } else if (inArray) {
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * 写出当前Token对应的值，调用时parser位于值的第一个Token
+     */
+    private void writeValue(JsonParser parser, XMLStreamWriter writer, String name) throws IOException, XMLStreamException {
+        checkName(name);
+        switch (parser.currentToken()) {
+            case START_OBJECT:
+                writer.writeStartElement(name);
+                writeObject(parser, writer);
+                writer.writeEndElement();
+                break;
+            case START_ARRAY:
+                writeArray(parser, writer, name);
+                break;
+            case VALUE_NULL:
+                writer.writeEmptyElement(name);
+                break;
+            default:
+                writer.writeStartElement(name);
+                writer.writeCharacters(parser.getText());
+                writer.writeEndElement();
+        }
+    }
+
+    private void writeArray(JsonParser parser, XMLStreamWriter writer, String name) throws IOException, XMLStreamException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY) {
+            // 空数组保留为一个空元素，避免字段丢失
+            writer.writeEmptyElement(checkName(name));
+            return;
+        }
+        for (; token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+            if (token == JsonToken.START_ARRAY) {
+                // 嵌套数组无法用重复元素表达，包装为一层元素
+                writer.writeStartElement(name);
+                writeArray(parser, writer, itemName);
+                writer.writeEndElement();
+            } else {
+                writeValue(parser, writer, name);
+            }
+        }
+    }
+
+    private void writeObject(JsonParser parser, XMLStreamWriter writer) throws IOException, XMLStreamException {
+        boolean content = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            boolean scalar = token.isScalarValue();
+            if (name.startsWith(attributePrefix) && name.length() > attributePrefix.length()) {
+                String attribute = name.substring(attributePrefix.length());
+                if (scalar && !content) {
+                    if (token != JsonToken.VALUE_NULL) {
+                        writer.writeAttribute(checkName(attribute), parser.getText());
+                    }
+                    continue;
+                }
+                // 属性只能写在子内容之前，否则作为子元素输出
+                name = attribute;
+            }
+            content = true;
+            if (scalar && name.equals(textName)) {
+                if (token != JsonToken.VALUE_NULL) {
+                    writer.writeCharacters(parser.getText());
+                }
+            } else {
+                writeValue(parser, writer, name);
+            }
+        }
+    }
+
+    /**
+     * 校验XML名称（NCName），StAX写出时不做校验，非法名称会生成格式错误的XML
+     */
+    private static String checkName(String name) {
+        boolean valid = !name.isEmpty() && isNameStart(name.charAt(0));
+        for (int i = 1; valid && i < name.length(); i++) {
+            char c = name.charAt(i);
+            valid = isNameStart(c) || (c >= '0' && c <= '9') || c == '-' || c == '.' || c == '\u00b7'
+                || (c >= '\u0300' && c <= '\u036f') || c == '\u203f' || c == '\u2040';
+        }
+        if (!valid) {
+            throw new IllegalStateException("Occurring an exception during json parsing! Invalid xml name: \"" + name + "\".");
+        }
+        return name;
+    }
+
+    private static boolean isNameStart(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || c == '_'
+            || (c >= '\u00c0' && c <= '\u00d6') || (c >= '\u00d8' && c <= '\u00f6') || (c >= '\u00f8' && c <= '\u02ff')
+            || (c >= '\u0370' && c <= '\u037d') || (c >= '\u037f' && c <= '\u1fff') || (c >= '\u200c' && c <= '\u200d')
+            || (c >= '\u2070' && c <= '\u218f') || (c >= '\u2c00' && c <= '\u2fef') || (c >= '\u3001' && c <= '\ud7ff')
+            || (c >= '\uf900' && c <= '\ufdcf') || (c >= '\ufdf0' && c <= '\ufffd') || Character.isSurrogate(c);
+    }
+
+    private static void closeQuietly(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException ignored) {
+                // 忽略关闭异常
+            }
+        }
+    }
+
+    private static void closeQuietly(XMLStreamWriter writer) {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (XMLStreamException ignored) {
+                // 忽略关闭异常
+            }
+        }
+    }
+
+    /**
+     * 缓存第一个元素直到确定其是否重复，超过上限后切换为直接输出
+     */
+    private static final class PendingGenerator extends JsonGeneratorDelegate {
+        private final JsonGenerator target;
+        private final TokenBuffer buffer;
+        private final String name;
+        private final int limit;
+        private int tokens;
+        private boolean committed;
+
+        PendingGenerator(JsonGenerator target, String name, int limit) {
+            super(new TokenBuffer(null, false), false);
+            this.target = target;
+            this.buffer = (TokenBuffer) delegate;
+            this.name = name;
+            this.limit = limit;
+        }
+
+        @Override
+        public void writeStartObject() throws IOException {
+            count();
+            super.writeStartObject();
+        }
+
+        @Override
+        public void writeStartArray() throws IOException {
+            count();
+            super.writeStartArray();
+        }
+
+        @Override
+        public void writeFieldName(String name) throws IOException {
+            count();
+            super.writeFieldName(name);
+        }
+
+        @Override
+        public void writeString(String text) throws IOException {
+            count();
+            super.writeString(text);
+        }
+
+        void flushAsField() throws IOException {
+            if (!committed) {
+                target.writeFieldName(name);
+                buffer.serialize(target);
+            }
+        }
+
+        void flushAsArray() throws IOException {
+            target.writeFieldName(name);
+            target.writeStartArray();
+            buffer.serialize(target);
+        }
+
+        private void count() throws IOException {
+            if (!committed && ++tokens > limit) {
+                target.writeFieldName(name);
+                buffer.serialize(target);
+                delegate = target;
+                committed = true;
+            }
+        }
+    }
+}
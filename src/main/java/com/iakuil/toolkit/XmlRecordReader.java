@@ -0,0 +1,113 @@
+package com.iakuil.toolkit;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.xml.XmlFactory;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 基于StAX的XML流式记录读取器
+ *
+ * <p>逐个将匹配名称或路径的重复元素绑定为javabean，内存占用与文档大小无关。
+ * <p>路径使用"/"分隔，例如"item"匹配任意层级的item元素，"items/item"匹配任意层级中items下的item元素；
+ * 以"/"开头的路径从根元素开始匹配，例如"/catalog/items/item"只匹配根元素catalog下items中的item元素。
+ * <p>非线程安全，使用完毕后需要关闭。
+ *
+ * @param <T> javabean类型
+ * @author Kai
+ */
+public final class XmlRecordReader<T> implements Iterator<T>, Closeable {
+    private final XMLStreamReader reader;
+    private final XmlFactory factory;
+    private final ObjectReader objectReader;
+    private final String[] path;
+    private final boolean anchored;
+    private final List<String> stack = new ArrayList<>();
+
+    private T next;
+    private boolean done;
+
+    XmlRecordReader(XMLStreamReader reader, XmlFactory factory, ObjectReader objectReader, String path) {
+        this.reader = reader;
+        this.factory = factory;
+        this.objectReader = objectReader;
+        this.anchored = path.startsWith("/");
+        this.path = (anchored ? path.substring(1) : path).split("/");
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            next = advance();
+        }
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        done = true;
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private T advance() {
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if (matches(name)) {
+                        // 读取完成后reader停留在该元素的END_ELEMENT上，因此不入栈
+                        T record = objectReader.readValue(factory.createParser(reader));
+                        if (record != null) {
+                            return record;
+                        }
+                    } else {
+                        stack.add(name);
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && !stack.isEmpty()) {
+                    stack.remove(stack.size() - 1);
+                }
+            }
+        } catch (XMLStreamException | IOException e) {
+            throw new IllegalStateException("Occurring an exception during xml parsing!", e);
+        }
+
+        done = true;
+        return null;
+    }
+
+    private boolean matches(String name) {
+        int last = path.length - 1;
+        if (!path[last].equals(name) || stack.size() < last || (anchored && stack.size() != last)) {
+            return false;
+        }
+        for (int i = 0, offset = stack.size() - last; i < last; i++) {
+            if (!path[i].equals(stack.get(offset + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,88 @@
+package com.iakuil.toolkit;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.xml.XmlFactory;
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * 基于StAX的XML流式记录写入器
+ *
+ * <p>在根元素下逐个写入javabean，每个javabean直接输出到目标流，内存占用与记录数量无关。
+ * <p>关闭时写入根元素的结束标签，但不会关闭底层输出流。
+ * <p>非线程安全。
+ *
+ * @author Kai
+ */
+public final class XmlRecordWriter implements Closeable, Flushable {
+    private final XMLStreamWriter writer;
+    private final XmlFactory factory;
+    private final ObjectWriter objectWriter;
+
+    private boolean closed;
+
+    XmlRecordWriter(XMLStreamWriter writer, XmlFactory factory, ObjectWriter objectWriter, String rootName) {
+        this.writer = writer;
+        this.factory = factory;
+        this.objectWriter = objectWriter;
+        try {
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeStartElement(rootName);
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Occurring an exception during object parsing!", e);
+        }
+    }
+
+    /**
+     * 写入一条记录
+     *
+     * @param record javabean对象
+     * @return 当前写入器
+     */
+    public XmlRecordWriter write(Object record) {
+        if (closed) {
+            throw new IllegalStateException("Xml record writer has been closed!");
+        }
+        if (record == null) {
+            return this;
+        }
+
+        try {
+            ToXmlGenerator generator = factory.createGenerator(writer);
+            objectWriter.writeValue(generator, record);
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during object parsing!", e);
+        }
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        try {
+            writer.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.flush();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+}
@@ -1,26 +1,70 @@
 package com.iakuil.toolkit;
 
+import com.ctc.wstx.stax.WstxInputFactory;
+import com.ctc.wstx.stax.WstxOutputFactory;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.xml.XmlFactory;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 
+import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * 基于Jackson的XML工具类
  *
+ * <p>启动参数{@code -Dez-toolkit.jackson.accelerated=true}可开启基于LambdaMetafactory的属性访问加速。
+ * <p>ObjectReader和ObjectWriter按类型缓存，与{@link JsonProfile}一致。
+ *
  * @author Kai
  */
 public class XmlUtils {
 
     private static final XmlMapper XML_MAPPER;
+    private static final boolean ACCELERATED;
+    private static final ObjectWriter DEFAULT_WRITER;
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectReader> UPDATING_READERS = new ConcurrentHashMap<>();
 
     static {
-        XML_MAPPER = new XmlMapper();
+        // 显式使用Woodstox，避免StAX实现的服务查找，并保证输出直接写入目标流
+        XML_MAPPER = new XmlMapper(new XmlFactory(new WstxInputFactory(), new WstxOutputFactory()));
         XML_MAPPER.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
         XML_MAPPER.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        ACCELERATED = MapperAccelerator.accelerateIfEnabled(XML_MAPPER);
+        // 写入调用方的输出流或Writer时不关闭目标
+        DEFAULT_WRITER = XML_MAPPER.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        Metrics.registerGauge("xml.reader.size", READERS::size);
+        Metrics.registerGauge("xml.writer.size", WRITERS::size);
+    }
+
+    private XmlUtils() {
+    }
+
+    /**
+     * 是否处于加速模式
+     *
+     * @return 已注册加速模块返回true，反射模式返回false
+     */
+    public static boolean isAccelerated() {
+        return ACCELERATED;
     }
 
     /**
@@ -32,11 +76,16 @@ public class XmlUtils {
      * @return 指定类型的javabean
      */
     public static <T> T xml2bean(String xmlStr, Class<T> clazz) {
+        long start = Metrics.start();
+        T result;
         try {
-            return XML_MAPPER.readValue(xmlStr, clazz);
+            result = readerFor(clazz).readValue(xmlStr);
         } catch (IOException e) {
-            throw new IllegalStateException("Occurring an exception during xml parsing!" + e);
+            throw new IllegalStateException("Occurring an exception during xml parsing!", e);
         }
+
+        Metrics.stop("xml.read", start);
+        return result;
     }
 
     /**
@@ -49,12 +98,53 @@ public class XmlUtils {
      */
     public static <T> T xml2bean(InputStream xmlIs, Class<T> clazz) {
         try {
-            return XML_MAPPER.readValue(xmlIs, clazz);
+            return readerFor(clazz).readValue(xmlIs);
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during xml parsing!", e);
+        }
+    }
+
+    /**
+     * XML字节转换为javabean
+     *
+     * @param <T>      javabean类型
+     * @param xmlBytes XML字节
+     * @param clazz    期望类型
+     * @return 指定类型的javabean
+     */
+    public static <T> T xml2bean(byte[] xmlBytes, Class<T> clazz) {
+        try {
+            return readerFor(clazz).readValue(xmlBytes);
         } catch (IOException e) {
-            throw new IllegalStateException("Occurring an exception during xml parsing!" + e);
+            throw new IllegalStateException("Occurring an exception during xml parsing!", e);
         }
     }
 
+    /**
+     * XML读入已有的javabean
+     *
+     * <p>读入前先重置目标，规则与{@link JsonProfile#readInto(String, Object)}一致，
+     * XML中没有出现的属性不会保留上一次的值。
+     *
+     * @param <T>    javabean类型
+     * @param xmlStr XML字符串
+     * @param target 被读入的javabean
+     * @return 被读入的javabean
+     */
+    public static <T> T readInto(String xmlStr, T target) {
+        Objects.requireNonNull(target, "Target must not be null!");
+        long start = Metrics.start();
+        BeanResetter.reset(target);
+        try {
+            updatingReaderFor(target.getClass()).withValueToUpdate(target).readValue(xmlStr);
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during xml parsing!", e);
+        }
+
+        Metrics.stop("xml.read.into", start);
+        return target;
+    }
+
     /**
      * javabean转换为XML
      *
@@ -62,10 +152,204 @@ public class XmlUtils {
      * @return JSON数据
      */
     public static String bean2Xml(Object obj) {
+        long start = Metrics.start();
+        String result;
         try {
-            return XML_MAPPER.writeValueAsString(obj);
+            result = writerFor(obj).writeValueAsString(obj);
         } catch (JsonProcessingException e) {
-            throw new IllegalStateException("Occurring an exception during object parsing!" + e);
+            throw new IllegalStateException("Occurring an exception during object parsing!", e);
+        }
+
+        Metrics.stop("xml.write", start);
+        return result;
+    }
+
+    /**
+     * javabean转换为XML字节
+     *
+     * @param obj javabean对象
+     * @return UTF-8编码的XML字节
+     */
+    public static byte[] bean2XmlBytes(Object obj) {
+        try {
+            return writerFor(obj).writeValueAsBytes(obj);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Occurring an exception during object parsing!", e);
+        }
+    }
+
+    /**
+     * javabean转换为XML并直接写入输出流
+     *
+     * <p>输出流不会被关闭。
+     *
+     * @param obj javabean对象
+     * @param os  输出流
+     */
+    public static void bean2Xml(Object obj, OutputStream os) {
+        Objects.requireNonNull(os, "Output stream must not be null!");
+        try {
+            writerFor(obj).writeValue(os, obj);
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during object parsing!", e);
+        }
+    }
+
+    /**
+     * javabean转换为XML并直接写入Writer
+     *
+     * <p>Writer不会被关闭。
+     *
+     * @param obj    javabean对象
+     * @param writer 字符输出
+     */
+    public static void bean2Xml(Object obj, Writer writer) {
+        Objects.requireNonNull(writer, "Writer must not be null!");
+        try {
+            writerFor(obj).writeValue(writer, obj);
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during object parsing!", e);
+        }
+    }
+
+    /**
+     * 创建XML流式记录读取器
+     *
+     * <p>逐个读取匹配名称或路径的元素，适用于无法整体载入内存的大文件。
+     *
+     * @param <T>   javabean类型
+     * @param xmlIs XML流
+     * @param path  记录元素名称或以"/"分隔的路径，以"/"开头时从根元素开始匹配
+     * @param clazz 期望类型
+     * @return 记录读取器，使用完毕后需要关闭
+     */
+    public static <T> XmlRecordReader<T> recordReader(InputStream xmlIs, String path, Class<T> clazz) {
+        Objects.requireNonNull(xmlIs, "Input stream must not be null!");
+        Objects.requireNonNull(path, "Path must not be null!");
+        try {
+            return new XmlRecordReader<>(XML_MAPPER.getFactory().getXMLInputFactory().createXMLStreamReader(xmlIs),
+                XML_MAPPER.getFactory(), readerFor(clazz), path);
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Occurring an exception during xml parsing!", e);
+        }
+    }
+
+    /**
+     * 以Stream的方式流式读取XML记录
+     *
+     * @param <T>   javabean类型
+     * @param xmlIs XML流
+     * @param path  记录元素名称或以"/"分隔的路径，以"/"开头时从根元素开始匹配
+     * @param clazz 期望类型
+     * @return 记录Stream，关闭Stream时释放解析器
+     */
+    public static <T> Stream<T> readRecords(InputStream xmlIs, String path, Class<T> clazz) {
+        XmlRecordReader<T> reader = recordReader(xmlIs, path, clazz);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(() -> {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+
+    /**
+     * 以回调的方式流式读取XML记录
+     *
+     * @param <T>      javabean类型
+     * @param xmlIs    XML流
+     * @param path     记录元素名称或以"/"分隔的路径，以"/"开头时从根元素开始匹配
+     * @param clazz    期望类型
+     * @param consumer 记录回调
+     * @return 读取的记录数
+     */
+    public static <T> long readRecords(InputStream xmlIs, String path, Class<T> clazz, Consumer<? super T> consumer) {
+        long count = 0;
+        try (XmlRecordReader<T> reader = recordReader(xmlIs, path, clazz)) {
+            while (reader.hasNext()) {
+                consumer.accept(reader.next());
+                count++;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Occurring an exception during xml parsing!", e);
+        }
+        return count;
+    }
+
+    /**
+     * 创建XML流式记录写入器
+     *
+     * @param os         输出流
+     * @param rootName   根元素名称
+     * @param recordName 记录元素名称
+     * @return 记录写入器，关闭时写入根元素结束标签
+     */
+    public static XmlRecordWriter recordWriter(OutputStream os, String rootName, String recordName) {
+        Objects.requireNonNull(os, "Output stream must not be null!");
+        Objects.requireNonNull(rootName, "Root name must not be null!");
+        Objects.requireNonNull(recordName, "Record name must not be null!");
+        try {
+            return new XmlRecordWriter(XML_MAPPER.getFactory().getXMLOutputFactory().createXMLStreamWriter(os, "UTF-8"),
+                XML_MAPPER.getFactory(), XML_MAPPER.writer().withRootName(recordName), rootName);
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Occurring an exception during object parsing!", e);
+        }
+    }
+
+    /**
+     * XML直接转换为JSON，不经过javabean或树形结构
+     *
+     * @param xmlStr XML字符串
+     * @return JSON字符串
+     * @see XmlJsonTranscoder
+     */
+    public static String xml2Json(String xmlStr) {
+        return XmlJsonTranscoder.create().xml2Json(xmlStr);
+    }
+
+    /**
+     * JSON直接转换为XML，不经过javabean或树形结构
+     *
+     * @param jsonStr JSON字符串
+     * @return XML字符串
+     * @see XmlJsonTranscoder
+     */
+    public static String json2Xml(String jsonStr) {
+        return XmlJsonTranscoder.create().json2Xml(jsonStr);
+    }
+
+    /**
+     * 获取共享的XmlMapper，仅供工具包内部使用
+     *
+     * @return XmlMapper
+     */
+    static XmlMapper mapper() {
+        return XML_MAPPER;
+    }
+
+    private static ObjectReader readerFor(Class<?> clazz) {
+        return READERS.computeIfAbsent(clazz, XML_MAPPER::readerFor);
+    }
+
+    private static ObjectReader updatingReaderFor(Class<?> clazz) {
+        return UPDATING_READERS.computeIfAbsent(clazz, c -> MergingMapperHolder.MAPPER.readerFor(c));
+    }
+
+    private static ObjectWriter writerFor(Object obj) {
+        return obj == null ? DEFAULT_WRITER : WRITERS.computeIfAbsent(obj.getClass(),
+            c -> XML_MAPPER.writerFor(c).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+    }
+
+    /**
+     * 开启了默认合并的Mapper副本，首次读入已有对象时才创建
+     */
+    private static final class MergingMapperHolder {
+        private static final XmlMapper MAPPER = XML_MAPPER.copy();
+
+        static {
+            MAPPER.setDefaultMergeable(true);
         }
     }
 }
@@ -0,0 +1,179 @@
+package com.iakuil.toolkit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class AccessorBackendTest {
+
+    @Test
+    void should_copy_properties_with_same_name_and_type() {
+        for (AccessorBackend backend : backends()) {
+            Foo foo = new Foo();
+            foo.setName("Tom");
+            foo.setAge(18);
+            foo.setActive(true);
+            foo.setScore(7L);
+
+            Bar bar = new Bar();
+            backend.copier(Foo.class, Bar.class).copy(foo, bar);
+            assertThat(backend.getName(), bar.getName(), is("Tom"));
+            assertThat(backend.getName(), bar.getAge(), is(18));
+            assertThat(backend.getName(), bar.isActive(), is(true));
+            assertThat(backend.getName(), bar.getScore(), nullValue());
+        }
+    }
+
+    @Test
+    void should_generate_straight_line_copier_on_modern_jdk() {
+        PropertyCopier copier = new LambdaAccessorBackend().copier(Foo.class, Bar.class);
+        if (AccessorBackends.javaVersion() >= 9) {
+            assertThat(copier.getClass().getName(), containsString("$$PropertyCopier$$"));
+        }
+
+        Foo foo = new Foo();
+        foo.setAge(3);
+        Bar bar = new Bar();
+        copier.copy(foo, bar);
+        assertThat(bar.getAge(), is(3));
+    }
+
+    @Test
+    void should_read_and_write_by_index() {
+        for (AccessorBackend backend : backends()) {
+            BeanAccessor accessor = backend.accessor(Foo.class);
+            Foo foo = (Foo) accessor.newInstance();
+            int age = accessor.indexOf("age");
+            int active = accessor.indexOf("active");
+            int code = accessor.indexOf("code");
+
+            accessor.set(foo, age, 20);
+            accessor.set(foo, active, true);
+            assertThat(backend.getName(), accessor.get(foo, age), is(20));
+            assertThat(backend.getName(), accessor.get(foo, active), is(true));
+            assertThat(backend.getName(), accessor.getType(age), is((Object) int.class));
+
+            accessor.set(foo, age, null);
+            assertThat(backend.getName(), foo.getAge(), is(0));
+            assertThat(backend.getName(), accessor.isWritable(code), is(false));
+            assertThat(backend.getName(), accessor.get(foo, code), is("F"));
+            assertThat(backend.getName(), accessor.indexOf("missing"), is(-1));
+        }
+    }
+
+    @Test
+    void should_diff_in_property_name_order_on_every_backend() {
+        for (AccessorBackend backend : backends()) {
+            BeanDiffer differ = new BeanDiffer(backend.accessor(Foo.class), backend.accessor(Bar.class));
+            assertThat(backend.getName(), differ.getProperties(), contains("active", "age", "name"));
+
+            Foo foo = new Foo();
+            foo.setName("Tom");
+            foo.setAge(18);
+            foo.setActive(true);
+            assertThat(backend.getName(), differ.diff(foo, new Bar()), contains("active", "age", "name"));
+        }
+    }
+
+    @Test
+    void should_select_backend_by_name() {
+        assertThat(AccessorBackends.select(AccessorBackends.CGLIB), instanceOf(CglibAccessorBackend.class));
+        assertThat(AccessorBackends.select(AccessorBackends.LAMBDA), instanceOf(LambdaAccessorBackend.class));
+        assertThat(AccessorBackends.select(LambdaAccessorBackend.class.getName()), instanceOf(LambdaAccessorBackend.class));
+    }
+
+    private static List<AccessorBackend> backends() {
+        // JDK 16起默认禁止反射访问java.lang，cglib无法定义类
+        if (AccessorBackends.javaVersion() >= 16) {
+            return Collections.singletonList(new LambdaAccessorBackend());
+        }
+        return Arrays.asList(new CglibAccessorBackend(), new LambdaAccessorBackend());
+    }
+
+    public static class Foo {
+        private String name;
+        private int age;
+        private boolean active;
+        private Long score;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public Long getScore() {
+            return score;
+        }
+
+        public void setScore(Long score) {
+            this.score = score;
+        }
+
+        public String getCode() {
+            return "F";
+        }
+    }
+
+    public static class Bar {
+        private String name;
+        private int age;
+        private boolean active;
+        private Integer score;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public Integer getScore() {
+            return score;
+        }
+
+        public void setScore(Integer score) {
+            this.score = score;
+        }
+    }
+}
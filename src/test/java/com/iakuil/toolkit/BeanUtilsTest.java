@@ -2,12 +2,12 @@ package com.iakuil.toolkit;
 
 import org.junit.jupiter.api.Test;
 
+import java.beans.ConstructorProperties;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.hasSize;
-import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.*;
 import static org.hamcrest.core.IsNull.nullValue;
 
 public class BeanUtilsTest {
@@ -58,6 +58,74 @@ public class BeanUtilsTest {
         assertThat(family, hasSize(2));
     }
 
+    @Test
+    void should_copy_into_constructor_properties_target() {
+        Bar bar = new Bar();
+        bar.setName("Tom");
+        bar.setAge(18);
+
+        Qux qux = BeanUtils.copy(bar, Qux.class);
+        assertThat(qux.getName(), is("Tom"));
+        assertThat(qux.getAge(), is(18));
+        assertThat(qux.getScore(), is(0L));
+    }
+
+    @Test
+    void should_copy_into_widest_named_constructor_target() {
+        Bar bar = new Bar();
+        bar.setName("Tom");
+        bar.setAge(18);
+
+        Corge corge = BeanUtils.copy(bar, Corge.class);
+        assertThat(corge.getName(), is("Tom"));
+        assertThat(corge.getAge(), is(18));
+    }
+
+    @Test
+    void should_copy_into_builder_target() {
+        Bar bar = new Bar();
+        bar.setName("Tom");
+        bar.setAge(18);
+
+        List<Quux> quuxes = BeanUtils.copyMany(Arrays.asList(bar, new Bar()), Quux.class);
+        assertThat(quuxes.get(0).getName(), is("Tom"));
+        assertThat(quuxes.get(0).getAge(), is(18));
+        assertThat(quuxes.get(1).getName(), is(nullValue()));
+    }
+
+    @Test
+    void should_diff_properties_with_same_name_and_type() {
+        Foo foo = new Foo();
+        foo.setName("Tom");
+        foo.setAge(18);
+
+        Bar bar = new Bar();
+        bar.setName("Tom");
+        bar.setAge(20);
+        bar.setAddr("China");
+
+        assertThat(BeanUtils.diff(foo, bar), contains("age"));
+        bar.setAge(18);
+        assertThat(BeanUtils.diff(foo, bar), is(empty()));
+        assertThat(BeanUtils.differ(Foo.class, Bar.class).isChanged(foo, bar), is(false));
+    }
+
+    @Test
+    void should_merge_non_null_properties() {
+        Foo patch = new Foo();
+        patch.setAge(30);
+
+        Bar bar = new Bar();
+        bar.setName("Tom");
+        bar.setAge(20);
+        bar.setAddr("China");
+
+        BeanUtils.merge(patch, bar);
+        assertThat(bar.getName(), is("Tom"));
+        assertThat(bar.getAge(), is(30));
+        assertThat(bar.getAddr(), is("China"));
+    }
+
     static class Foo {
         private String name;
         private Integer age;
@@ -129,4 +197,95 @@ public class BeanUtilsTest {
             this.age = age;
         }
     }
+
+    static class Qux {
+        private final String name;
+        private final Integer age;
+        private final long score;
+
+        @ConstructorProperties({"name", "age", "score"})
+        public Qux(String name, Integer age, long score) {
+            this.name = name;
+            this.age = age;
+            this.score = score;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public long getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * 没有注解，依赖-parameters编译参数保留的参数名
+     */
+    static class Corge {
+        private final String name;
+        private final Integer age;
+
+        public Corge(String name) {
+            this(name, null);
+        }
+
+        public Corge(String name, Integer age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+    }
+
+    static class Quux {
+        private final String name;
+        private final Integer age;
+
+        private Quux(String name, Integer age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public static class Builder {
+            private String name;
+            private Integer age;
+
+            public Builder name(String name) {
+                this.name = name;
+                return this;
+            }
+
+            public Builder age(Integer age) {
+                this.age = age;
+                return this;
+            }
+
+            public Quux build() {
+                return new Quux(name, age);
+            }
+        }
+    }
 }
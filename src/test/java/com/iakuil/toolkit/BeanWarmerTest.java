@@ -0,0 +1,99 @@
+package com.iakuil.toolkit;
+
+import com.iakuil.toolkit.warmup.Order;
+import com.iakuil.toolkit.warmup.OrderDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class BeanWarmerTest {
+
+    @Test
+    void should_warm_up_declared_classes() {
+        BeanWarmer.Report report = BeanWarmer.create()
+            .copiers(Order.class, OrderDto.class)
+            .beanMap(Order.class)
+            .parallelism(2)
+            .warmUp();
+        assertThat(report.getCopiers(), is(2));
+        assertThat(report.getBeanMaps(), is(1));
+        assertThat(report.getFailures().isEmpty(), is(true));
+    }
+
+    @Test
+    void should_scan_package_and_pair_by_suffix() {
+        BeanWarmer.Report report = BeanWarmer.create()
+            .scan("com.iakuil.toolkit.warmup")
+            .pairBySuffix("Dto")
+            .warmUp();
+        assertThat(report.getCopiers(), is(2));
+        assertThat(report.getBeanMaps(), is(2));
+        assertThat(report.getFailures().keySet(), empty());
+
+        Order order = new Order();
+        order.setId(7L);
+        assertThat(BeanUtils.copy(order, OrderDto.class).getId(), is(7L));
+    }
+
+    @Test
+    void should_pregenerate_only_stable_named_classes(@TempDir Path output) throws Exception {
+        // cglib在类加载时读取输出目录，需要在新的JVM中运行
+        File java = new File(System.getProperty("java.home"), "bin" + File.separator + "java");
+        List<String> command = new ArrayList<>();
+        command.add(java.getPath());
+        if (AccessorBackends.javaVersion() >= 9) {
+            command.add("--add-opens=java.base/java.lang=ALL-UNNAMED");
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(BeanWarmer.class.getName());
+        command.add(output.toString());
+        command.add("--suffix");
+        command.add("Dto");
+        command.add("com.iakuil.toolkit.warmup");
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+            .redirectOutput(output.resolveSibling(output.getFileName() + ".log").toFile()).start();
+        assertThat(process.waitFor(60, TimeUnit.SECONDS), is(true));
+        assertThat(process.exitValue(), is(0));
+
+        List<String> classNames;
+        try (Stream<Path> files = Files.walk(output)) {
+            classNames = files.filter(Files::isRegularFile)
+                .map(file -> output.relativize(file).toString().replace(File.separatorChar, '.').replaceAll("\\.class$", ""))
+                .collect(Collectors.toList());
+        }
+        assertThat(classNames, hasSize(4));
+        assertThat(classNames, everyItem(allOf(startsWith("com.iakuil.toolkit.warmup."), containsString("ByEzToolkit$$"))));
+        try (Stream<Path> dirs = Files.list(output)) {
+            assertThat(dirs.map(dir -> dir.getFileName().toString()).collect(Collectors.toList()), contains("com"));
+        }
+
+        // 不委托给测试类加载器，它可能已经在本JVM中生成过同名的类
+        // 只加载不初始化：初始化会在隔离的加载器里再走一遍cglib，JDK 9+需要额外的--add-opens
+        List<URL> urls = new ArrayList<>();
+        urls.add(output.toUri().toURL());
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            urls.add(new File(entry).toURI().toURL());
+        }
+        try (URLClassLoader loader = new URLClassLoader(urls.toArray(new URL[0]), null)) {
+            for (String className : classNames) {
+                Class<?> clazz = Class.forName(className, false, loader);
+                assertThat(clazz.getClassLoader(), sameInstance(loader));
+                assertThat(clazz.getSuperclass().getName(), startsWith("net.sf.cglib.beans."));
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.iakuil.toolkit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * 共享静态状态的并发压力测试
+ *
+ * <p>所有线程在同一时刻开始，首次访问的类型只在本测试中使用，保证缓存的创建也发生在并发中。
+ * 每个线程校验自己的结果，并记录缓存返回的实例，同一个键只能有一个实例。
+ */
+class ConcurrencyStressTest {
+    private static final int THREADS = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+    private static final int ITERATIONS = 2_000;
+
+    @Test
+    void should_copy_with_single_plan_per_type_pair() throws Exception {
+        Class<?>[] types = {Alpha.class, Beta.class, Gamma.class};
+        Map<String, Set<Object>> plans = new ConcurrentHashMap<>();
+        Map<Class<?>, Set<Object>> accessors = new ConcurrentHashMap<>();
+
+        hammer((thread, i) -> {
+            Class<?> from = types[(thread + i) % types.length];
+            Class<?> to = types[(thread + i + 1 + i % 2) % types.length];
+            Object source = BeanMapUtils.mapToBean(values(thread, i), from);
+            Object target = BeanUtils.copy(source, to);
+            assertThat(target, instanceOf(to));
+            assertThat(BeanMapUtils.beanToMap(target), is(values(thread, i)));
+
+            plans.computeIfAbsent(from.getName() + "->" + to.getName(), k -> ConcurrentHashMap.newKeySet())
+                .add(BeanUtils.getPlan(from, to));
+            accessors.computeIfAbsent(from, k -> ConcurrentHashMap.newKeySet()).add(BeanMapUtils.accessorOf(from));
+        });
+
+        assertThat(plans.size(), is(6));
+        plans.values().forEach(set -> assertThat(set, hasSize(1)));
+        accessors.values().forEach(set -> assertThat(set, hasSize(1)));
+    }
+
+    @Test
+    void should_read_and_write_json_xml_and_json_path_concurrently() throws Exception {
+        hammer((thread, i) -> {
+            Alpha alpha = BeanMapUtils.mapToBean(values(thread, i), Alpha.class);
+
+            String json = JsonUtils.bean2Json(alpha);
+            assertThat(JsonUtils.json2bean(json, Alpha.class).getCode(), is(alpha.getCode()));
+            assertThat(JsonPathUtils.readStr(json, "$.name"), is(alpha.getName()));
+            assertThat(JsonPathUtils.readInt(json, "$.age"), is(alpha.getAge()));
+
+            String xml = XmlUtils.bean2Xml(alpha);
+            assertThat(XmlUtils.xml2bean(xml, Alpha.class).getName(), is(alpha.getName()));
+
+            long id = ((long) thread << 32) | i;
+            assertThat(HashIdUtils.decrypt(HashIdUtils.encrypt(id & Long.MAX_VALUE)), is(id & Long.MAX_VALUE));
+            assertThat(HashIdUtils.deobfuscate(HashIdUtils.obfuscate(id)), is(id));
+        });
+    }
+
+    @Test
+    void should_register_each_profile_exactly_once() throws Exception {
+        // 注册表是静态的且不能注销，每次运行使用不同的名字，重复运行（如surefire重跑）不会互相影响
+        String prefix = "stress-" + UUID.randomUUID() + "-";
+        AtomicInteger registered = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        hammer((thread, i) -> {
+            if (i >= 50) {
+                return;
+            }
+            try {
+                JsonUtils.registerProfile(prefix + i, mapper -> {
+                });
+                registered.incrementAndGet();
+            } catch (IllegalStateException e) {
+                rejected.incrementAndGet();
+            }
+            assertThat(JsonUtils.profile(prefix + i).getName(), is(prefix + i));
+        });
+
+        assertThat(registered.get(), is(50));
+        assertThat(rejected.get(), is(50 * (THREADS - 1)));
+    }
+
+    @Test
+    void should_never_lend_pooled_object_twice() throws Exception {
+        ObjectPool<Alpha> pool = ObjectPool.of(Alpha.class, 4);
+        Set<Alpha> lent = ConcurrentHashMap.newKeySet();
+        StringCanonicalizer canonicalizer = StringCanonicalizer.forShortStrings(8).withCapacity(8);
+        hammer((thread, i) -> {
+            Alpha alpha = pool.borrow();
+            assertThat("lent twice", lent.add(alpha), is(true));
+            lent.remove(alpha);
+            pool.release(alpha);
+
+            String value = "v" + (i % 32);
+            assertThat(canonicalizer.canonicalize(value), is(value));
+        });
+
+        assertThat(pool.size(), lessThanOrEqualTo(4));
+        assertThat(canonicalizer.getHits() + canonicalizer.getMisses(), is((long) THREADS * ITERATIONS));
+    }
+
+    private static Map<String, Object> values(int thread, int i) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", "t" + thread + "-" + i);
+        values.put("age", i);
+        values.put("code", (long) thread * ITERATIONS + i);
+        return values;
+    }
+
+    /**
+     * 所有线程通过栅栏同时开始，任一线程失败时抛出第一个失败
+     */
+    private static void hammer(Task task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        task.run(thread, i);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get(60, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    throw new AssertionError("Failed in worker thread", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        void run(int thread, int iteration) throws Exception;
+    }
+
+    public static class Alpha {
+        private String name;
+        private Integer age;
+        private Long code;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+
+        public Long getCode() {
+            return code;
+        }
+
+        public void setCode(Long code) {
+            this.code = code;
+        }
+    }
+
+    public static class Beta extends Alpha {
+    }
+
+    public static class Gamma extends Alpha {
+    }
+}
@@ -0,0 +1,197 @@
+package com.iakuil.toolkit;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvUtilsTest {
+
+    @Test
+    void should_write_and_read_back_beans_with_escaping() {
+        Row first = new Row();
+        first.setName("Tom, \"the\" cat\r\nline two");
+        first.setAge(11);
+        first.setActive(true);
+        first.setLevel(Level.HIGH);
+        first.setAmount(new BigDecimal("12.50"));
+        first.setBirthday(LocalDate.of(2020, 2, 29));
+        first.setTags(Arrays.asList("a", "b"));
+        Row second = new Row();
+        second.setName("");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(CsvUtils.writeRecords(out, Arrays.asList(first, null, second), Row.class, CsvUtils.COMMA), is(2L));
+        String csv = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertThat(csv, startsWith("active,age,amount,birthday,id,level,name,tags\r\n"));
+
+        List<Row> rows = new ArrayList<>();
+        long count = CsvUtils.readRecords(new ByteArrayInputStream(out.toByteArray()), Row.class, CsvUtils.COMMA, rows::add);
+        assertThat(count, is(2L));
+        Row read = rows.get(0);
+        assertThat(read.getName(), is(first.getName()));
+        assertThat(read.getAge(), is(11));
+        assertThat(read.isActive(), is(true));
+        assertThat(read.getLevel(), is(Level.HIGH));
+        assertThat(read.getAmount(), is(new BigDecimal("12.50")));
+        assertThat(read.getBirthday(), is(LocalDate.of(2020, 2, 29)));
+        assertThat(read.getTags(), contains("a", "b"));
+        assertThat(read.getId(), nullValue());
+        assertThat(rows.get(1).getName(), is(""));
+        assertThat(rows.get(1).getAmount(), nullValue());
+    }
+
+    @Test
+    void should_read_tsv_by_header_and_ignore_unknown_columns() {
+        String tsv = "name\tunknown\tage\n\nJack\tx\t8\n\"Ro\tse\"\t\t\n";
+        try (Stream<Row> stream = CsvUtils.readRecords(
+            new ByteArrayInputStream(tsv.getBytes(StandardCharsets.UTF_8)), Row.class, CsvUtils.TAB)) {
+            List<Row> rows = stream.collect(Collectors.toList());
+            assertThat(rows, hasSize(2));
+            assertThat(rows.get(0).getAge(), is(8));
+            assertThat(rows.get(1).getName(), is("Ro\tse"));
+            assertThat(rows.get(1).getAge(), is(0));
+        }
+    }
+
+    @Test
+    void should_stream_rows_to_writer() throws Exception {
+        StringWriter out = new StringWriter();
+        try (CsvRecordWriter<Row> writer = CsvUtils.recordWriter(out, Row.class, CsvUtils.TAB)) {
+            Row row = new Row();
+            row.setId(7L);
+            writer.write(row);
+        }
+        assertThat(out.toString(), is("active\tage\tamount\tbirthday\tid\tlevel\tname\ttags\r\nfalse\t0\t\t\t7\t\t\t\r\n"));
+    }
+
+    @Test
+    void should_get_exception_when_cell_is_malformed() {
+        CsvRecordReader<Row> reader = CsvUtils.recordReader(new StringReader("name,age\nTom,abc\n"), Row.class, CsvUtils.COMMA);
+        IllegalStateException e = assertThrows(IllegalStateException.class, reader::next);
+        assertThat(e.getMessage(), containsString("row 2, column 2"));
+        assertThrows(IllegalStateException.class,
+            () -> CsvUtils.recordReader(new StringReader("name\n\"Tom\n"), Row.class, CsvUtils.COMMA).next());
+    }
+
+    @Test
+    void should_keep_null_rows_of_single_column() {
+        List<Name> names = Stream.of("a", null, "", "c").map(value -> {
+            Name name = new Name();
+            name.setName(value);
+            return name;
+        }).collect(Collectors.toList());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(CsvUtils.writeRecords(out, names, Name.class, CsvUtils.COMMA), is(4L));
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8), is("name\r\na\r\n\r\n\"\"\r\nc\r\n"));
+        try (Stream<Name> stream = CsvUtils.readRecords(new ByteArrayInputStream(out.toByteArray()), Name.class, CsvUtils.COMMA)) {
+            assertThat(stream.map(Name::getName).collect(Collectors.toList()), contains("a", null, "", "c"));
+        }
+    }
+
+    enum Level {
+        LOW, HIGH
+    }
+
+    public static class Row {
+        private Long id;
+        private String name;
+        private int age;
+        private boolean active;
+        private Level level;
+        private BigDecimal amount;
+        private LocalDate birthday;
+        private List<String> tags;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public Level getLevel() {
+            return level;
+        }
+
+        public void setLevel(Level level) {
+            this.level = level;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public void setAmount(BigDecimal amount) {
+            this.amount = amount;
+        }
+
+        public LocalDate getBirthday() {
+            return birthday;
+        }
+
+        public void setBirthday(LocalDate birthday) {
+            this.birthday = birthday;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+    }
+
+    public static class Name {
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
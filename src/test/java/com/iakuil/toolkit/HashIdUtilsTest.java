@@ -0,0 +1,76 @@
+package com.iakuil.toolkit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class HashIdUtilsTest {
+
+    @Test
+    void should_encrypt_and_decrypt_with_hashids() {
+        String hash = HashIdUtils.encrypt(1234567890L);
+        assertThat(hash.length(), greaterThanOrEqualTo(8));
+        assertThat(HashIdUtils.decrypt(hash), is(1234567890L));
+        assertThat(HashIdUtils.decrypt(HashIdUtils.encrypt(12L, "salt"), "salt"), is(12L));
+    }
+
+    @Test
+    void should_bound_codec_caches_for_many_salts() {
+        for (int i = 0; i < 300; i++) {
+            String salt = "tenant-" + i;
+            assertThat(HashIdUtils.decrypt(HashIdUtils.encrypt((long) i, salt), salt), is((long) i));
+            assertThat(HashIdUtils.deobfuscate(HashIdUtils.obfuscate(i, salt), salt), is((long) i));
+        }
+        assertThat(Metrics.gauges().get("hashid.codec.size"), lessThanOrEqualTo(256L * 32));
+        assertThat(Metrics.gauges().get("hashid.feistel.size"), lessThanOrEqualTo(256L));
+    }
+
+    @Test
+    void should_round_trip_any_long_with_fixed_width() {
+        long[] edges = {0L, 1L, -1L, Long.MAX_VALUE, Long.MIN_VALUE, 0xFFFFFFFFL, 1L << 32};
+        for (long id : edges) {
+            String text = HashIdUtils.obfuscate(id);
+            assertThat(text.length(), is(11));
+            assertThat(HashIdUtils.deobfuscate(text), is(id));
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long id = random.nextLong();
+            String text = HashIdUtils.obfuscate(id, "order");
+            assertThat(text.matches("[0-9A-Za-z]{11}"), is(true));
+            assertThat(HashIdUtils.deobfuscate(text, "order"), is(id));
+        }
+    }
+
+    @Test
+    void should_scramble_sequential_ids_by_salt() {
+        Set<String> texts = new HashSet<>();
+        Set<Character> leading = new HashSet<>();
+        for (long id = 1; id <= 1000; id++) {
+            String text = HashIdUtils.obfuscate(id);
+            texts.add(text);
+            leading.add(text.charAt(0));
+        }
+        assertThat(texts, hasSize(1000));
+        // 首位只能取0到21
+        assertThat(leading.size(), greaterThan(15));
+        assertThat(HashIdUtils.obfuscate(1L, "a"), not(HashIdUtils.obfuscate(1L, "b")));
+        assertThat(HashIdUtils.deobfuscate(HashIdUtils.obfuscate(1L, "a"), "b"), not(1L));
+    }
+
+    @Test
+    void should_get_null_when_text_is_malformed() {
+        assertThat(HashIdUtils.deobfuscate("short"), nullValue());
+        assertThat(HashIdUtils.deobfuscate("0000000000-"), nullValue());
+        assertThat(HashIdUtils.deobfuscate("zzzzzzzzzzz"), nullValue());
+        // 2^64 - 1与2^64
+        assertThat(HashIdUtils.deobfuscate("LygHa16AHYF"), notNullValue());
+        assertThat(HashIdUtils.deobfuscate("LygHa16AHYG"), nullValue());
+    }
+}
@@ -3,6 +3,9 @@ package com.iakuil.toolkit;
 import com.jayway.jsonpath.spi.mapper.MappingException;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -128,4 +131,86 @@ public class JsonPathUtilsTest {
             this.age = age;
         }
     }
+
+    @Test
+    void should_evaluate_paths_over_documents_in_columns() {
+        List<Object> docs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String json = "{\"id\":" + i + ",\"user\":{\"name\":\"u" + i + "\"}}";
+            docs.add(i % 2 == 0 ? json : json.getBytes(StandardCharsets.UTF_8));
+        }
+        docs.add("{broken");
+        docs.add("{\"id\":1000}");
+
+        JsonPathBatch.Result result = JsonPathUtils.batch("$.id", "$.user.name").evaluate(docs.stream());
+        assertThat(result.getRows(), is(1002));
+        assertThat(result.getFailures(), is(1));
+        assertThat(result.getColumn("$.id", Long.class).get(999), is(999L));
+        assertThat(result.get(500, 1), is("u500"));
+        assertThat(result.get(1000, 0), nullValue());
+        assertThat(result.get(1001, 0), is(1000));
+        assertThat(result.getColumn("$.user.name").get(1001), nullValue());
+    }
+
+    @Test
+    void should_answer_equality_filters_from_index_like_json_path() {
+        String json = "{\"store\":{\"items\":["
+            + "{\"sku\":\"A\",\"price\":1,\"stock\":{\"qty\":3}},"
+            + "{\"sku\":\"B\",\"price\":2.0,\"onSale\":true},"
+            + "{\"sku\":\"A\",\"price\":3,\"stock\":{}}]}}";
+        JsonDocument document = JsonPathUtils.document(json);
+        String[] paths = {
+            "$.store.items[?(@.sku == 'A')]",
+            "$.store.items[?(@.sku == \"B\")].price",
+            "$.store.items[?(@.price == 2)].sku",
+            "$.store.items[?(@.onSale == true)].sku",
+            "$.store.items[?(@.sku == 'A')].stock.qty",
+            "$.store.items[?(@.sku == 'A')].onSale",
+            "$.store.items[?(@.stock.qty == 3)].sku",
+            "$.store.items[?(@.sku == 'Z')]"
+        };
+        for (String path : paths) {
+            assertThat(path, document.read(path), is(JsonPathUtils.read(json, path, Object.class)));
+        }
+        assertThat(document.getIndexCount(), is(4));
+        assertThat(document.read("$.store.items[0].sku", String.class), is("A"));
+
+        document.add("$.store.items", Collections.singletonMap("sku", "Z"));
+        assertThat(document.getIndexCount(), is(0));
+        assertThat((List<?>) document.read("$.store.items[?(@.sku == 'Z')]"), hasSize(1));
+    }
+
+    @Test
+    void should_match_json_path_when_strings_and_numbers_are_mixed() {
+        String json = "{\"items\":[{\"code\":\"1\",\"price\":1},{\"code\":2,\"price\":2.5}]}";
+        JsonDocument document = JsonPathUtils.document(json);
+        String[] paths = {
+            "$.items[?(@.code == 1)]",
+            "$.items[?(@.code == '1')]",
+            "$.items[?(@.price == '1')]",
+            "$.items[?(@.price == 2.5)].code",
+            "$.items[?(@.code == '2')].price"
+        };
+        for (String path : paths) {
+            Object expected = JsonPathUtils.read(json, path, Object.class);
+            assertThat(path, (List<?>) expected, not(empty()));
+            assertThat(path, document.read(path), is(expected));
+        }
+    }
+
+    @Test
+    void should_skip_elements_whose_field_path_hits_a_scalar() {
+        String json = "{\"items\":[\"X\",{\"sku\":\"X\"},{\"a\":\"Y\"},{\"a\":{\"b\":\"Y\"}}]}";
+        JsonDocument document = JsonPathUtils.document(json);
+        String[] paths = {
+            "$.items[?(@.sku == 'X')]",
+            "$.items[?(@.a.b == 'Y')]"
+        };
+        for (String path : paths) {
+            assertThat(path, document.read(path), is(JsonPathUtils.read(json, path, Object.class)));
+        }
+        assertThat((List<?>) document.read(paths[0]), hasSize(1));
+        assertThat((List<?>) document.read(paths[1]), hasSize(1));
+        assertThat(document.getIndexCount(), is(2));
+    }
 }
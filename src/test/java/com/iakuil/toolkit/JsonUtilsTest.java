@@ -0,0 +1,235 @@
+package com.iakuil.toolkit;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonUtilsTest {
+
+    @Test
+    void should_convert_between_bean_and_json() {
+        Foo foo = new Foo();
+        foo.setUserName("Tom");
+
+        String json = JsonUtils.bean2Json(foo);
+        assertThat(json, is("{\"userName\":\"Tom\"}"));
+        assertThat(JsonUtils.json2bean("{\"userName\":\"Tom\",\"addr\":\"China\"}", Foo.class).getUserName(), is("Tom"));
+    }
+
+    @Test
+    void should_read_list_of_beans() {
+        List<Foo> list = JsonUtils.json2List("[{\"userName\":\"Tom\"},{\"userName\":\"Jack\",\"age\":8}]", Foo.class);
+        assertThat(list, hasSize(2));
+        assertThat(list.get(1).getAge(), is(8));
+    }
+
+    @Test
+    void should_use_registered_profile_per_call() {
+        JsonUtils.registerProfile("snake", mapper -> mapper.setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE));
+
+        Foo foo = new Foo();
+        foo.setUserName("Tom");
+        assertThat(JsonUtils.profile("snake").bean2Json(foo), is("{\"user_name\":\"Tom\"}"));
+        assertThat(JsonUtils.profile("snake").json2bean("{\"user_name\":\"Jack\"}", Foo.class).getUserName(), is("Jack"));
+        assertThat(JsonUtils.bean2Json(foo), is("{\"userName\":\"Tom\"}"));
+        assertThat(JsonUtils.profile(JsonUtils.DEFAULT_PROFILE).bean2Json(foo), is("{\"userName\":\"Tom\"}"));
+    }
+
+    @Test
+    void should_get_exception_when_profile_is_duplicated_or_missing() {
+        JsonUtils.registerProfile("once", mapper -> {
+        });
+        assertThrows(IllegalStateException.class, () -> JsonUtils.registerProfile("once", mapper -> {
+        }));
+        assertThrows(IllegalArgumentException.class, () -> JsonUtils.profile("nothing"));
+    }
+
+    @Test
+    void should_decode_chunked_array_elements_incrementally() throws Exception {
+        List<Foo> received = new ArrayList<>();
+        byte[] json = "[{\"userName\":\"Tom\"},{\"userName\":\"\u6770\u514b\",\"age\":8}]".getBytes(StandardCharsets.UTF_8);
+        try (JsonAsyncDecoder<Foo> decoder = JsonUtils.asyncArrayDecoder(Foo.class, received::add)) {
+            // 逐字节投喂，切分点可能落在多字节字符中间
+            for (int i = 0; i < json.length; i++) {
+                decoder.feed(ByteBuffer.wrap(json, i, 1));
+                if (i == 18) {
+                    assertThat(received, hasSize(1));
+                }
+            }
+            decoder.end();
+            assertThat(decoder.getCount(), is(2L));
+        }
+        assertThat(received.get(0).getUserName(), is("Tom"));
+        assertThat(received.get(1).getUserName(), is("\u6770\u514b"));
+        assertThat(received.get(1).getAge(), is(8));
+    }
+
+    @Test
+    void should_decode_root_values_and_reject_truncated_input() throws Exception {
+        List<Foo> received = new ArrayList<>();
+        try (JsonAsyncDecoder<Foo> decoder = JsonUtils.asyncDecoder(Foo.class, received::add)) {
+            ByteBuffer direct = ByteBuffer.allocateDirect(64);
+            direct.put("{\"userName\":\"Tom\"}\n{\"age\"".getBytes(StandardCharsets.UTF_8));
+            ((Buffer) direct).flip();
+            assertThat(decoder.feed(direct), is(1));
+            assertThat(decoder.feed(":8}\n".getBytes(StandardCharsets.UTF_8)), is(1));
+            assertThat(decoder.end(), is(0));
+        }
+        assertThat(received, hasSize(2));
+        assertThat(received.get(1).getAge(), is(8));
+
+        try (JsonAsyncDecoder<Foo> decoder = JsonUtils.asyncArrayDecoder(Foo.class, received::add)) {
+            decoder.feed("[{\"age\":1},".getBytes(StandardCharsets.UTF_8));
+            assertThrows(IllegalStateException.class, decoder::end);
+        }
+    }
+
+    @Test
+    void should_decode_big_numbers_like_blocking_read() throws Exception {
+        String json = "{\"amount\":0.12345678901234567890123,\"id\":123456789012345678901234567890}";
+        Payment expected = JsonUtils.json2bean(json, Payment.class);
+        Map<?, ?> expectedMap = JsonUtils.json2bean(json, Map.class);
+        List<Payment> received = new ArrayList<>();
+        List<Map<?, ?>> receivedMaps = new ArrayList<>();
+        try (JsonAsyncDecoder<Payment> decoder = JsonUtils.asyncDecoder(Payment.class, received::add);
+             JsonAsyncDecoder<Map> mapDecoder = JsonUtils.asyncDecoder(Map.class, receivedMaps::add)) {
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            for (int i = 0; i < bytes.length; i++) {
+                decoder.feed(ByteBuffer.wrap(bytes, i, 1));
+                mapDecoder.feed(ByteBuffer.wrap(bytes, i, 1));
+            }
+            decoder.end();
+            mapDecoder.end();
+        }
+        assertThat(received, hasSize(1));
+        assertThat(received.get(0).getAmount(), is(new BigDecimal("0.12345678901234567890123")));
+        assertThat(received.get(0).getAmount(), is(expected.getAmount()));
+        assertThat(received.get(0).getId(), is(expected.getId()));
+        assertThat(receivedMaps.get(0), is(expectedMap));
+    }
+
+    @Test
+    void should_share_canonical_strings_through_profile() {
+        StringCanonicalizer byField = StringCanonicalizer.forFields("userName");
+        JsonUtils.registerProfile("canonical-field", mapper -> mapper.registerModule(byField.module()));
+        List<Foo> list = JsonUtils.profile("canonical-field").json2List("[{\"userName\":\"Tom\"},{\"userName\":\"Tom\"},{\"userName\":\"Jack\"}]", Foo.class);
+        assertThat(list.get(0).getUserName(), sameInstance(list.get(1).getUserName()));
+        assertThat(byField.getHits(), is(1L));
+        assertThat(byField.getMisses(), is(2L));
+        Map<String, Object> map = JsonUtils.profile("canonical-field").json2Map("{\"a\":\"CN\",\"b\":\"CN\"}");
+        assertThat(map.get("a"), not(sameInstance(map.get("b"))));
+
+        StringCanonicalizer shortStrings = StringCanonicalizer.forShortStrings(2).withCapacity(16);
+        JsonUtils.registerProfile("canonical-short", mapper -> mapper.registerModule(shortStrings.module()));
+        map = JsonUtils.profile("canonical-short").json2Map("{\"a\":\"CN\",\"b\":[\"CN\",\"USA\",\"USA\"]}");
+        assertThat(((List<?>) map.get("b")).get(0), sameInstance(map.get("a")));
+        assertThat(((List<?>) map.get("b")).get(1), not(sameInstance(((List<?>) map.get("b")).get(2))));
+        assertThat(shortStrings.getDedupRatio(), is(0.5));
+        assertThat(shortStrings.canonicalize(new String("CN")), sameInstance(map.get("a")));
+    }
+
+    @Test
+    void should_read_into_pooled_instance_reusing_nested_objects() {
+        ObjectPool<Team> pool = ObjectPool.of(Team.class, 1);
+        Team team = JsonUtils.readInto("{\"leader\":{\"userName\":\"Tom\",\"age\":8},\"tags\":[\"a\",\"b\"],\"scores\":[1,2]}", pool.borrow());
+        Foo leader = team.getLeader();
+        List<String> tags = team.getTags();
+        assertThat(pool.release(team), is(true));
+        assertThat(pool.release(new Team()), is(false));
+
+        Team reused = JsonUtils.readInto("{\"leader\":{\"userName\":\"Jack\"},\"tags\":[\"c\"],\"scores\":[3]}", pool.borrow());
+        assertThat(reused, sameInstance(team));
+        assertThat(reused.getLeader(), sameInstance(leader));
+        assertThat(reused.getLeader().getUserName(), is("Jack"));
+        // 没有出现的属性被重置，不沿用上一条消息的值
+        assertThat(reused.getLeader().getAge(), nullValue());
+        assertThat(reused.getTags(), sameInstance(tags));
+        assertThat(reused.getTags(), contains("c"));
+        assertThat(reused.getScores(), is(new int[]{3}));
+        assertThat(pool.size(), is(0));
+    }
+
+    static class Foo {
+        private String userName;
+        private Integer age;
+
+        public String getUserName() {
+            return userName;
+        }
+
+        public void setUserName(String userName) {
+            this.userName = userName;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+    }
+
+    static class Team {
+        private Foo leader;
+        private List<String> tags;
+        private int[] scores;
+
+        public Foo getLeader() {
+            return leader;
+        }
+
+        public void setLeader(Foo leader) {
+            this.leader = leader;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public int[] getScores() {
+            return scores;
+        }
+
+        public void setScores(int[] scores) {
+            this.scores = scores;
+        }
+    }
+
+    static class Payment {
+        private BigDecimal amount;
+        private BigInteger id;
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public void setAmount(BigDecimal amount) {
+            this.amount = amount;
+        }
+
+        public BigInteger getId() {
+            return id;
+        }
+
+        public void setId(BigInteger id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.iakuil.toolkit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LazyJsonTest {
+
+    @Test
+    void should_read_fields_on_demand() {
+        LazyJson json = LazyJson.parse("{\"name\":\"Tom\", \"age\" : 11, \"tags\":[\"a\",\"b\"], \"foo\":{\"name\":\"Jack\"}}");
+        assertThat(json.getStr("name"), is("Tom"));
+        assertThat(json.getInt("age"), is(11));
+        assertThat(json.getStr("age"), is("11"));
+        assertThat(json.getRaw("tags"), is("[\"a\",\"b\"]"));
+        assertThat((List<?>) json.get("tags", List.class), hasSize(2));
+        assertThat(json.getObject("foo").getStr("name"), is("Jack"));
+        assertThat(json.getStr("xxx"), nullValue());
+        assertThat(json.fieldNames(), contains("name", "age", "tags", "foo"));
+    }
+
+    @Test
+    void should_decode_escaped_strings() {
+        LazyJson json = LazyJson.parse("{\"na\\\"me\":\"T\\u006fm \\\"}\\\"\",\"age\":1}");
+        assertThat(json.getStr("na\"me"), is("Tom \"}\""));
+        assertThat(json.getInt("age"), is(1));
+    }
+
+    @Test
+    void should_copy_untouched_fields_verbatim() {
+        String raw = "{\"name\":\"Tom\",\"foo\":{ \"a\" : [1, 2,{\"b\":null}] },\"age\":11}";
+        LazyJson json = LazyJson.parse(raw);
+        assertThat(json.toString(), is(raw));
+
+        json.put("age", 12).remove("name").put("addr", "China");
+        assertThat(json.toString(), is("{\"foo\":{ \"a\" : [1, 2,{\"b\":null}] },\"age\":12,\"addr\":\"China\"}"));
+        assertThat(json.has("name"), is(false));
+        assertThat(json.getInt("age"), is(12));
+    }
+
+    @Test
+    void should_write_back_nested_view() {
+        LazyJson json = LazyJson.parse("{\"foo\":{\"name\":\"Tom\",\"age\":11},\"addr\":\"China\"}");
+        LazyJson foo = json.getObject("foo").put("name", "Jack");
+        json.put("foo", foo);
+        assertThat(json.toString(), is("{\"foo\":{\"name\":\"Jack\",\"age\":11},\"addr\":\"China\"}"));
+
+        Foo bean = json.get("foo", Foo.class);
+        assertThat(bean.getName(), is("Jack"));
+        assertThat(bean.getAge(), is(11));
+    }
+
+    @Test
+    void should_get_exception_when_json_is_malformed() {
+        assertThrows(IllegalStateException.class, () -> LazyJson.parse("[1,2]"));
+        assertThrows(IllegalStateException.class, () -> LazyJson.parse("{\"name\":\"Tom\""));
+        assertThrows(IllegalStateException.class, () -> LazyJson.parse("{\"name\" \"Tom\"}"));
+    }
+
+    static class Foo {
+        private String name;
+        private Integer age;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.iakuil.toolkit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MapBuilderTest {
+
+    @Test
+    void should_filter_empty_values_on_put() {
+        Map<String, Object> map = MapBuilder.create(4)
+            .put("name", "Tom")
+            .put("addr", "")
+            .put("tags", new ArrayList<>())
+            .put("attrs", Collections.emptyMap())
+            .put("codes", new int[0])
+            .put("age", null)
+            .build();
+        assertThat(map.keySet(), contains("name"));
+    }
+
+    @Test
+    void should_remove_entry_when_value_becomes_empty() {
+        Map<String, Object> map = MapBuilder.create()
+            .put("name", "Tom")
+            .put("name", "")
+            .build();
+        assertThat(map.isEmpty(), is(true));
+    }
+
+    @Test
+    void should_filter_initial_entries_and_rename() {
+        Map<String, Object> src = new HashMap<>();
+        src.put("name", "Tom");
+        src.put("addr", "");
+
+        Map<String, Object> map = MapBuilder.create(src)
+            .rename("name", "userName")
+            .rename("missing", "other")
+            .build();
+        assertThat(map.size(), is(1));
+        assertThat(map, hasEntry("userName", "Tom"));
+    }
+
+    @Test
+    void should_not_consume_lazy_sources() {
+        Iterator<String> iterator = Arrays.asList("a", "b").iterator();
+        Map<String, Object> map = MapBuilder.create()
+            .put("iterator", iterator)
+            .put("empty", Collections.emptyIterator())
+            .build();
+        assertThat(map.keySet(), contains("iterator", "empty"));
+        assertThat(iterator.next(), is("a"));
+    }
+
+    @Test
+    void should_apply_registered_empty_rule() {
+        MapBuilder.registerEmptyRule(Optional.class, o -> !o.isPresent());
+        try {
+            Map<String, Object> map = MapBuilder.create()
+                .put("name", Optional.of("Tom"))
+                .put("addr", Optional.empty())
+                .put("obj", new Object())
+                .build();
+            assertThat(map.keySet(), contains("name", "obj"));
+        } finally {
+            MapBuilder.resetEmptyRules();
+        }
+        assertThat(MapBuilder.create().put("addr", Optional.empty()).build().keySet(), contains("addr"));
+    }
+
+    @Test
+    void should_build_compact_immutable_map() {
+        Map<String, Object> map = MapBuilder.create()
+            .put("name", "Tom")
+            .put("age", 18)
+            .put("addr", null)
+            .buildCompact();
+        assertThat(map.size(), is(2));
+        assertThat(map.keySet(), contains("name", "age"));
+        assertThat(map.get("age"), is(18));
+        assertThat(map.get("addr"), nullValue());
+        assertThat(map, is(MapBuilder.create().put("age", 18).put("name", "Tom").build()));
+        assertThrows(UnsupportedOperationException.class, () -> map.put("addr", "China"));
+    }
+
+    @Test
+    void should_write_entries_as_json() {
+        String json = MapBuilder.create()
+            .put("name", "Tom")
+            .put("addr", "")
+            .put("tags", Arrays.asList("a", "b"))
+            .toJson();
+        assertThat(json, is("{\"name\":\"Tom\",\"tags\":[\"a\",\"b\"]}"));
+    }
+
+    @Test
+    void should_write_entries_into_bean() {
+        Foo foo = MapBuilder.create()
+            .put("name", "Tom")
+            .put("age", 18)
+            .put("addr", "China")
+            .toBean(Foo.class);
+        assertThat(foo.getName(), is("Tom"));
+        assertThat(foo.getAge(), is(18));
+    }
+
+    public static class Foo {
+        private String name;
+        private Integer age;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+    }
+}
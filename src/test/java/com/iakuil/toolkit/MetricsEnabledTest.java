@@ -0,0 +1,70 @@
+package com.iakuil.toolkit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 开启指标后的记录路径，由surefire的metrics-enabled执行在{@code -Dez-toolkit.metrics.enabled=true}下运行
+ */
+class MetricsEnabledTest {
+    private final SimpleMetricsRecorder recorder = new SimpleMetricsRecorder();
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(Metrics.ENABLED, "Requires -Dez-toolkit.metrics.enabled=true");
+        Metrics.setRecorder(recorder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.setRecorder(MetricsRecorder.NOOP);
+    }
+
+    @Test
+    void should_record_counters_and_latencies_from_utilities() {
+        BeanMapUtilsTest.Foo foo = new BeanMapUtilsTest.Foo();
+        for (int i = 0; i < 3; i++) {
+            BeanUtils.copy(foo, BeanMapUtilsTest.Foo.class);
+            JsonUtils.json2bean("{}", BeanMapUtilsTest.Foo.class);
+            HashIdUtils.decrypt(HashIdUtils.encrypt((long) i));
+        }
+
+        assertThat(recorder.histogram("bean.copy").count(), is(3L));
+        assertThat(recorder.histogram("json.read").count(), is(3L));
+        assertThat(recorder.histogram("json.read").max(), greaterThan(0L));
+        assertThat(recorder.histogram("hashid.encode").count(), is(3L));
+        assertThat(recorder.counter("bean.copier.hit"), greaterThanOrEqualTo(2L));
+        assertThat(recorder.hitRate("bean.copier"), greaterThan(0.0));
+    }
+
+    @Test
+    void should_publish_recorded_latencies_to_jmx() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            JsonUtils.bean2Json(new BeanMapUtilsTest.Foo());
+        }
+
+        MetricsJmx.register(recorder);
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(MetricsJmx.OBJECT_NAME);
+            assertThat(server.getAttribute(name, "json.write.count"), is(100L));
+            long p50 = (Long) server.getAttribute(name, "json.write.p50Nanos");
+            long p99 = (Long) server.getAttribute(name, "json.write.p99Nanos");
+            assertThat(p50, greaterThan(0L));
+            assertThat(p99, greaterThanOrEqualTo(p50));
+            assertThat((Long) server.getAttribute(name, "json.write.maxNanos"), greaterThanOrEqualTo(p99));
+            assertThat(server.getMBeanInfo(name).getAttributes().length, greaterThan(0));
+        } finally {
+            MetricsJmx.unregister();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.iakuil.toolkit;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class MetricsTest {
+
+    @Test
+    void should_record_latency_percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+
+        assertThat(histogram.count(), is(1000L));
+        assertThat(histogram.max(), is(1_000_000L));
+        assertThat(histogram.mean(), closeTo(500_500, 1));
+        assertThat((double) histogram.percentile(50), closeTo(500_000, 500_000 * 0.125));
+        assertThat((double) histogram.percentile(99), closeTo(990_000, 990_000 * 0.125));
+        assertThat(histogram.percentile(100), is(1_000_000L));
+    }
+
+    @Test
+    void should_map_every_value_to_a_bucket_containing_it() {
+        long[] values = {0, 1, 7, 8, 9, 15, 16, 17, 1000, 123456789, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            assertThat(LatencyHistogram.upperBound(index), greaterThanOrEqualTo(value));
+        }
+    }
+
+    @Test
+    void should_count_and_compute_hit_rate() {
+        SimpleMetricsRecorder recorder = new SimpleMetricsRecorder();
+        recorder.increment("bean.copier.hit", 3);
+        recorder.increment("bean.copier.miss", 1);
+        recorder.recordNanos("bean.copy", 100);
+
+        assertThat(recorder.counter("bean.copier.hit"), is(3L));
+        assertThat(recorder.hitRate("bean.copier"), is(0.75));
+        assertThat(recorder.histogram("bean.copy").count(), is(1L));
+        assertThat(recorder.counters(), hasKey("bean.copier.miss"));
+    }
+
+    @Test
+    void should_publish_metrics_and_gauges_to_jmx() throws Exception {
+        BeanUtils.copy(new BeanMapUtilsTest.Foo(), BeanMapUtilsTest.Foo.class);
+        SimpleMetricsRecorder recorder = new SimpleMetricsRecorder();
+        recorder.increment("json.reader.hit", 1);
+        recorder.recordNanos("json.read", 2048);
+
+        MetricsJmx.register(recorder);
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(MetricsJmx.OBJECT_NAME);
+            assertThat(server.getAttribute(name, "json.reader.hit"), is(1L));
+            assertThat(server.getAttribute(name, "json.reader.hitRate"), is(1.0));
+            assertThat(server.getAttribute(name, "json.read.count"), is(1L));
+            assertThat((Long) server.getAttribute(name, "bean.copier.size"), greaterThanOrEqualTo(1L));
+        } finally {
+            MetricsJmx.unregister();
+        }
+    }
+}
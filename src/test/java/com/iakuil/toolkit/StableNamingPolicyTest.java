@@ -0,0 +1,50 @@
+package com.iakuil.toolkit;
+
+import com.iakuil.toolkit.warmup.Order;
+import com.iakuil.toolkit.warmup.OrderDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class StableNamingPolicyTest {
+
+    @Test
+    void should_name_classes_by_type_and_property_signature() {
+        String copier = name(StableNamingPolicy.forCopier(Order.class, OrderDto.class));
+        assertThat(copier, startsWith(Order.class.getName() + "$$BeanCopierByEzToolkit$$"));
+        assertThat(name(StableNamingPolicy.forCopier(Order.class, OrderDto.class)), is(copier));
+        assertThat(name(StableNamingPolicy.forCopier(OrderDto.class, Order.class)), not(copier));
+        assertThat(StableNamingPolicy.isStableName(copier), is(true));
+
+        String beanMap = name(StableNamingPolicy.forBeanMap(Order.class));
+        assertThat(beanMap, startsWith(Order.class.getName() + "$$BeanMapByEzToolkit$$"));
+        // 属性相同但类型不同，指纹也不同
+        assertThat(beanMap.substring(beanMap.lastIndexOf('$')),
+            not(name(StableNamingPolicy.forBeanMap(OrderDto.class)).substring(beanMap.lastIndexOf('$'))));
+        assertThat(StableNamingPolicy.isStableName("net.sf.cglib.core.KeyFactory$$ByCGLIB$$7fb24d72"), is(false));
+    }
+
+    @Test
+    void should_add_suffix_when_name_is_taken() {
+        StableNamingPolicy policy = StableNamingPolicy.forBeanMap(Order.class);
+        String first = name(policy);
+        Set<String> taken = Collections.singleton(first);
+        assertThat(policy.getClassName(null, "BeanMap", null, taken::contains), is(first + "_2"));
+        assertThat(policy.getClassName("java.util.HashMap", "BeanMap", null, name -> false), startsWith("$java.util.HashMap$$"));
+    }
+
+    @Test
+    void should_be_equal_for_same_signature() {
+        assertThat(StableNamingPolicy.forBeanMap(Order.class), is(StableNamingPolicy.forBeanMap(Order.class)));
+        assertThat(StableNamingPolicy.forBeanMap(Order.class).hashCode(), is(StableNamingPolicy.forBeanMap(Order.class).hashCode()));
+        assertThat(StableNamingPolicy.forBeanMap(Order.class), not(StableNamingPolicy.forCopier(Order.class, Order.class)));
+    }
+
+    private static String name(StableNamingPolicy policy) {
+        return policy.getClassName(null, "source", null, name -> false);
+    }
+}
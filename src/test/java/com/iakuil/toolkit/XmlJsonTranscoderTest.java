@@ -0,0 +1,64 @@
+package com.iakuil.toolkit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class XmlJsonTranscoderTest {
+
+    @Test
+    void should_convert_xml_to_json_with_attributes_and_arrays() {
+        String xml = "<?xml version=\"1.0\"?><order id=\"1\"><name>Tom</name><item sku=\"A\">2</item><item sku=\"B\">3</item><note/></order>";
+        String json = XmlUtils.xml2Json(xml);
+        assertThat(json, is("{\"@id\":\"1\",\"name\":\"Tom\",\"item\":[{\"@sku\":\"A\",\"#text\":\"2\"},{\"@sku\":\"B\",\"#text\":\"3\"}],\"note\":\"\"}"));
+    }
+
+    @Test
+    void should_convert_declared_array_elements_even_if_single() {
+        XmlJsonTranscoder transcoder = XmlJsonTranscoder.create().arrayElements("item").attributePrefix("_").keepRoot(true);
+        String json = transcoder.xml2Json("<order><item sku=\"A\"/></order>");
+        assertThat(json, is("{\"order\":{\"item\":[{\"_sku\":\"A\"}]}}"));
+    }
+
+    @Test
+    void should_stream_large_first_sibling_without_buffering() {
+        XmlJsonTranscoder transcoder = XmlJsonTranscoder.create().bufferLimit(2);
+        String json = transcoder.xml2Json("<r><a><x>1</x><y>2</y><z>3</z></a><b>4</b></r>");
+        assertThat(json, is("{\"a\":{\"x\":\"1\",\"y\":\"2\",\"z\":\"3\"},\"b\":\"4\"}"));
+    }
+
+    @Test
+    void should_convert_json_to_xml() {
+        String json = "{\"@id\":1,\"name\":\"Tom\",\"item\":[{\"@sku\":\"A\",\"#text\":2},{\"@sku\":\"B\",\"#text\":3}],\"note\":null}";
+        String xml = XmlUtils.json2Xml(json);
+        assertThat(xml, is("<?xml version='1.0' encoding='UTF-8'?><root id=\"1\"><name>Tom</name>"
+            + "<item sku=\"A\">2</item><item sku=\"B\">3</item><note/></root>"));
+    }
+
+    @Test
+    void should_round_trip_with_root() {
+        XmlJsonTranscoder transcoder = XmlJsonTranscoder.create().keepRoot(true);
+        String xml = "<order id=\"7\"><item>A</item><item>B</item></order>";
+        String json = transcoder.xml2Json(xml);
+        assertThat(json, is("{\"order\":{\"@id\":\"7\",\"item\":[\"A\",\"B\"]}}"));
+        assertThat(transcoder.json2Xml(json), is("<?xml version='1.0' encoding='UTF-8'?>" + xml));
+    }
+
+    @Test
+    void should_keep_empty_arrays_as_empty_elements() {
+        String xml = XmlUtils.json2Xml("{\"x\":[],\"y\":[[]],\"z\":1}");
+        assertThat(xml, is("<?xml version='1.0' encoding='UTF-8'?><root><x/><y><item/></y><z>1</z></root>"));
+    }
+
+    @Test
+    void should_get_exception_when_json_key_is_not_xml_name() {
+        for (String json : new String[]{"{\"a b\":1}", "{\"@\":2}", "{\"1a\":3}", "{\"a:b\":4}", "{\"@a b\":5}"}) {
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> XmlUtils.json2Xml(json));
+            assertThat(json, e.getMessage(), containsString("Invalid xml name"));
+        }
+        assertThat(XmlUtils.json2Xml("{\"a-b.c_d\":1}"), containsString("<a-b.c_d>1</a-b.c_d>"));
+    }
+}
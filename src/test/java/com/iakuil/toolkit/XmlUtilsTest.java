@@ -0,0 +1,162 @@
+package com.iakuil.toolkit;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class XmlUtilsTest {
+    private static final String CATALOG = "<catalog><meta><item><name>ignored</name></item></meta>"
+        + "<items><item><name>Tom</name><age>11</age></item><other/><item><name>Harry</name><age>22</age></item></items></catalog>";
+
+    @Test
+    void should_convert_between_bean_and_xml() {
+        Foo foo = new Foo();
+        foo.setName("Tom");
+        foo.setAge(11);
+
+        String xml = XmlUtils.bean2Xml(foo);
+        assertThat(xml, is("<Foo><name>Tom</name><age>11</age></Foo>"));
+        assertThat(XmlUtils.xml2bean(xml, Foo.class).getName(), is("Tom"));
+    }
+
+    @Test
+    void should_write_xml_to_stream_writer_and_bytes() {
+        Foo foo = new Foo();
+        foo.setName("Tom");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XmlUtils.bean2Xml(foo, out);
+        StringWriter writer = new StringWriter();
+        XmlUtils.bean2Xml(foo, writer);
+        byte[] bytes = XmlUtils.bean2XmlBytes(foo);
+
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8), is("<Foo><name>Tom</name></Foo>"));
+        assertThat(writer.toString(), is("<Foo><name>Tom</name></Foo>"));
+        assertThat(XmlUtils.xml2bean(bytes, Foo.class).getName(), is("Tom"));
+    }
+
+    @Test
+    void should_not_close_target_stream_or_writer() {
+        Foo foo = new Foo();
+        foo.setName("Tom");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                throw new AssertionError("Output stream closed");
+            }
+        };
+        XmlUtils.bean2Xml(foo, out);
+        XmlUtils.bean2Xml(foo, out);
+        StringWriter writer = new StringWriter();
+        PrintWriter printer = new PrintWriter(writer);
+        XmlUtils.bean2Xml(foo, printer);
+        XmlUtils.bean2Xml(foo, printer);
+        printer.flush();
+
+        assertThat(printer.checkError(), is(false));
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8), is("<Foo><name>Tom</name></Foo><Foo><name>Tom</name></Foo>"));
+        assertThat(writer.toString(), is("<Foo><name>Tom</name></Foo><Foo><name>Tom</name></Foo>"));
+    }
+
+    @Test
+    void should_stream_records_matching_name() {
+        try (Stream<Foo> records = XmlUtils.readRecords(stream(CATALOG), "item", Foo.class)) {
+            List<String> names = records.map(Foo::getName).collect(Collectors.toList());
+            assertThat(names, contains("ignored", "Tom", "Harry"));
+        }
+    }
+
+    @Test
+    void should_stream_records_matching_path() {
+        List<Foo> records = new ArrayList<>();
+        long count = XmlUtils.readRecords(stream(CATALOG), "items/item", Foo.class, records::add);
+        assertThat(count, is(2L));
+        assertThat(records.get(0).getName(), is("Tom"));
+        assertThat(records.get(1).getAge(), is(22));
+    }
+
+    @Test
+    void should_anchor_absolute_path_to_root() {
+        String nested = "<root><a><items><item><name>Deep</name></item></items></a><items><item><name>Top</name></item></items></root>";
+        assertThat(XmlUtils.readRecords(stream(nested), "items/item", Foo.class, foo -> {
+        }), is(2L));
+
+        List<String> names = new ArrayList<>();
+        XmlUtils.readRecords(stream(nested), "/root/items/item", Foo.class, foo -> names.add(foo.getName()));
+        assertThat(names, contains("Top"));
+        assertThat(XmlUtils.readRecords(stream(nested), "/items/item", Foo.class, foo -> {
+        }), is(0L));
+    }
+
+    @Test
+    void should_write_records_and_read_them_back() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XmlRecordWriter writer = XmlUtils.recordWriter(out, "items", "item")) {
+            for (int i = 0; i < 3; i++) {
+                Foo foo = new Foo();
+                foo.setName("Foo" + i);
+                foo.setAge(i);
+                writer.write(foo);
+            }
+        }
+
+        String xml = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertThat(xml, containsString("<items><item><name>Foo0</name><age>0</age></item>"));
+        try (XmlRecordReader<Foo> reader = XmlUtils.recordReader(stream(xml), "items/item", Foo.class)) {
+            int i = 0;
+            while (reader.hasNext()) {
+                assertThat(reader.next().getName(), is("Foo" + i++));
+            }
+            assertThat(i, is(3));
+        }
+    }
+
+    private static InputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void should_read_xml_into_existing_instance() {
+        Foo foo = new Foo();
+        foo.setAge(11);
+        Foo read = XmlUtils.readInto("<Foo><name>Tom</name></Foo>", foo);
+        assertThat(read, sameInstance(foo));
+        assertThat(read.getName(), is("Tom"));
+        assertThat(read.getAge(), nullValue());
+    }
+
+    public static class Foo {
+        private String name;
+        private Integer age;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.iakuil.toolkit.warmup;
+
+public class Order {
+    private Long id;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+}
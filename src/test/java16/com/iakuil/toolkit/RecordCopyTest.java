@@ -0,0 +1,58 @@
+package com.iakuil.toolkit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class RecordCopyTest {
+
+    @Test
+    void should_copy_bean_into_record_through_canonical_constructor() {
+        Person person = new Person();
+        person.setName("Tom");
+        person.setAge(18);
+
+        Card card = BeanUtils.copy(person, Card.class);
+        assertThat(card, is(new Card("Tom", 18, 0L)));
+
+        List<Card> cards = BeanUtils.copyMany(List.of(person, new Person()), Card.class);
+        assertThat(cards, contains(new Card("Tom", 18, 0L), new Card(null, null, 0L)));
+    }
+
+    @Test
+    void should_copy_record_into_bean_and_map() {
+        Card card = new Card("Tom", 18, 7L);
+
+        Person person = BeanUtils.copy(card, Person.class);
+        assertThat(person.getName(), is("Tom"));
+        assertThat(person.getAge(), is(18));
+        assertThat(BeanMapUtils.beanToMap(card), allOf(hasEntry("name", (Object) "Tom"), hasEntry("score", (Object) 7L)));
+    }
+
+    record Card(String name, Integer age, long score) {
+    }
+
+    public static class Person {
+        private String name;
+        private Integer age;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+    }
+}